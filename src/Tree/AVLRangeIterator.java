@@ -0,0 +1,84 @@
+package Tree;
+
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+
+public class AVLRangeIterator<K, V> implements ITreeIterator<V> {
+    private AVLTree<K, V> tree;
+    private K to;
+    private ArrayDeque<AVLTreeNode<K, V>> stack;
+    private AVLTreeNode<K, V> currentNode;
+    private int expectedModCount;
+
+    public AVLRangeIterator(AVLTree<K, V> tree, K from, K to) {
+        this.tree = tree;
+        this.expectedModCount = tree.getModCount();
+        this.to = to;
+        this.stack = new ArrayDeque();
+        this.currentNode = null;
+        this.seek(from, true);
+    }
+
+    private void seek(K from, boolean inclusive) {
+        this.stack.clear();
+        AVLTreeNode<K, V> cursor = (AVLTreeNode)this.tree.getRoot();
+
+        while(cursor != null) {
+            int cmp = from == null ? -1 : this.tree.getComparator().compare(from, cursor.getKey());
+            if (cmp < 0 || cmp == 0 && inclusive) {
+                this.stack.push(cursor);
+                cursor = cmp == 0 ? null : cursor.getLeftNode();
+            } else {
+                cursor = cursor.getRightNode();
+            }
+        }
+
+    }
+
+    public boolean hasNext() {
+        boolean hasNext = false;
+        if (!this.stack.isEmpty()) {
+            hasNext = this.to == null || this.tree.getComparator().compare(((AVLTreeNode<K, V>)this.stack.peek()).getKey(), this.to) <= 0;
+        }
+
+        return hasNext;
+    }
+
+    public AVLTreeNode<K, V> nextNode() {
+        if (this.tree.getModCount() != this.expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+
+        this.currentNode = null;
+        if (this.hasNext()) {
+            this.currentNode = (AVLTreeNode)this.stack.pop();
+
+            for(AVLTreeNode<K, V> cursor = this.currentNode.getRightNode(); cursor != null; cursor = cursor.getLeftNode()) {
+                this.stack.push(cursor);
+            }
+        }
+
+        return this.currentNode;
+    }
+
+    public V next() {
+        V currentInfo = null;
+        AVLTreeNode<K, V> current = this.nextNode();
+        if (current != null) {
+            currentInfo = (V)current.getInfo();
+        }
+
+        return currentInfo;
+    }
+
+    public void remove() {
+        if (this.currentNode != null) {
+            K key = (K)this.currentNode.getKey();
+            this.tree.remove(key);
+            this.expectedModCount = this.tree.getModCount();
+            this.seek(key, false);
+            this.currentNode = null;
+        }
+
+    }
+}
@@ -0,0 +1,327 @@
+package Tree;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+public class AVLTree<K, V> extends BinaryTree<V> implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final Comparator<? super K> comparator;
+    private V removedInfo;
+
+    public AVLTree() {
+        this.comparator = (a, b) -> ((Comparable)a).compareTo(b);
+    }
+
+    public AVLTree(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+    }
+
+    public Comparator<? super K> getComparator() {
+        return this.comparator;
+    }
+
+    public int size() {
+        return this.root != null ? ((AVLTreeNode)this.root).getSize() : 0;
+    }
+
+    public AVLTreeNode<K, V> getNode(K key) {
+        AVLTreeNode<K, V> cursor = (AVLTreeNode)this.root;
+        boolean found = false;
+
+        while(cursor != null && !found) {
+            int cmp = this.comparator.compare(key, cursor.getKey());
+            if (cmp == 0) {
+                found = true;
+            } else {
+                cursor = cmp < 0 ? cursor.getLeftNode() : cursor.getRightNode();
+            }
+        }
+
+        return cursor;
+    }
+
+    public V get(K key) {
+        AVLTreeNode<K, V> node = this.getNode(key);
+        return (V)(node != null ? node.getInfo() : null);
+    }
+
+    public boolean containsKey(K key) {
+        return this.getNode(key) != null;
+    }
+
+    public V put(K key, V value) {
+        AVLTreeNode<K, V> node = this.getNode(key);
+        V previous = null;
+        if (node != null) {
+            previous = (V)node.getInfo();
+            node.setInfo(value);
+        } else {
+            this.modifying();
+            this.root = this.insert((AVLTreeNode)this.root, key, value);
+        }
+
+        return previous;
+    }
+
+    public V remove(K key) {
+        this.removedInfo = null;
+        if (this.getNode(key) != null) {
+            this.modifying();
+            this.root = this.delete((AVLTreeNode)this.root, key);
+        }
+
+        V info = this.removedInfo;
+        this.removedInfo = null;
+        return info;
+    }
+
+    public AVLTreeNode<K, V> floorNode(K key) {
+        AVLTreeNode<K, V> cursor = (AVLTreeNode)this.root;
+        AVLTreeNode<K, V> result = null;
+
+        while(cursor != null) {
+            int cmp = this.comparator.compare(key, cursor.getKey());
+            if (cmp == 0) {
+                result = cursor;
+                cursor = null;
+            } else if (cmp < 0) {
+                cursor = cursor.getLeftNode();
+            } else {
+                result = cursor;
+                cursor = cursor.getRightNode();
+            }
+        }
+
+        return result;
+    }
+
+    public AVLTreeNode<K, V> ceilingNode(K key) {
+        AVLTreeNode<K, V> cursor = (AVLTreeNode)this.root;
+        AVLTreeNode<K, V> result = null;
+
+        while(cursor != null) {
+            int cmp = this.comparator.compare(key, cursor.getKey());
+            if (cmp == 0) {
+                result = cursor;
+                cursor = null;
+            } else if (cmp > 0) {
+                cursor = cursor.getRightNode();
+            } else {
+                result = cursor;
+                cursor = cursor.getLeftNode();
+            }
+        }
+
+        return result;
+    }
+
+    public V floor(K key) {
+        AVLTreeNode<K, V> node = this.floorNode(key);
+        return (V)(node != null ? node.getInfo() : null);
+    }
+
+    public V ceiling(K key) {
+        AVLTreeNode<K, V> node = this.ceilingNode(key);
+        return (V)(node != null ? node.getInfo() : null);
+    }
+
+    public AVLTreeNode<K, V> firstNode() {
+        AVLTreeNode<K, V> cursor = (AVLTreeNode)this.root;
+        if (cursor != null) {
+            while(cursor.getLeftNode() != null) {
+                cursor = cursor.getLeftNode();
+            }
+        }
+
+        return cursor;
+    }
+
+    public AVLTreeNode<K, V> lastNode() {
+        AVLTreeNode<K, V> cursor = (AVLTreeNode)this.root;
+        if (cursor != null) {
+            while(cursor.getRightNode() != null) {
+                cursor = cursor.getRightNode();
+            }
+        }
+
+        return cursor;
+    }
+
+    public AVLRangeIterator<K, V> rangeIterator(K from, K to) {
+        return new AVLRangeIterator(this, from, to);
+    }
+
+    public AVLRangeIterator<K, V> inOrderIterator() {
+        return new AVLRangeIterator(this, (Object)null, (Object)null);
+    }
+
+    public boolean insertNode(BinaryTreeNode<V> node, char type, BinaryTreeNode<V> father) {
+        throw new UnsupportedOperationException("AVLTree positions nodes by key, use put");
+    }
+
+    public void setRoot(TreeNode<V> root) {
+        if (root != null && !(root instanceof AVLTreeNode)) {
+            throw new UnsupportedOperationException("AVLTree root must be an AVLTreeNode");
+        } else {
+            this.modifying();
+            this.root = root;
+        }
+    }
+
+    public V deleteNode(BinaryTreeNode<V> node) {
+        V info = null;
+        if (node instanceof AVLTreeNode && this.getNode((K)((AVLTreeNode)node).getKey()) == node) {
+            info = this.remove((K)((AVLTreeNode)node).getKey());
+        }
+
+        return info;
+    }
+
+    public BinaryTreeNode<V> getFather(BinaryTreeNode<V> node) {
+        BinaryTreeNode<V> father = null;
+        if (node instanceof AVLTreeNode) {
+            K key = (K)((AVLTreeNode)node).getKey();
+            AVLTreeNode<K, V> cursor = (AVLTreeNode)this.root;
+
+            while(cursor != null && cursor != node) {
+                father = cursor;
+                cursor = this.comparator.compare(key, cursor.getKey()) < 0 ? cursor.getLeftNode() : cursor.getRightNode();
+            }
+
+            if (cursor == null) {
+                father = null;
+            }
+        }
+
+        return father;
+    }
+
+    public int nodeLevel(TreeNode<V> node) {
+        int level = -1;
+        if (node instanceof AVLTreeNode) {
+            K key = (K)((AVLTreeNode)node).getKey();
+            AVLTreeNode<K, V> cursor = (AVLTreeNode)this.root;
+            int depth = 0;
+
+            while(cursor != null && cursor != node) {
+                cursor = this.comparator.compare(key, cursor.getKey()) < 0 ? cursor.getLeftNode() : cursor.getRightNode();
+                ++depth;
+            }
+
+            if (cursor != null) {
+                level = depth;
+            }
+        }
+
+        return level;
+    }
+
+    public boolean containsNode(BinaryTreeNode<V> node) {
+        return this.nodeLevel(node) >= 0;
+    }
+
+    private AVLTreeNode<K, V> insert(AVLTreeNode<K, V> node, K key, V value) {
+        AVLTreeNode<K, V> result;
+        if (node == null) {
+            result = new AVLTreeNode(key, value);
+        } else {
+            if (this.comparator.compare(key, node.getKey()) < 0) {
+                node.setLeft(this.insert(node.getLeftNode(), key, value));
+            } else {
+                node.setRight(this.insert(node.getRightNode(), key, value));
+            }
+
+            result = this.rebalance(node);
+        }
+
+        return result;
+    }
+
+    private AVLTreeNode<K, V> delete(AVLTreeNode<K, V> node, K key) {
+        AVLTreeNode<K, V> result = null;
+        if (node != null) {
+            int cmp = this.comparator.compare(key, node.getKey());
+            if (cmp < 0) {
+                node.setLeft(this.delete(node.getLeftNode(), key));
+                result = this.rebalance(node);
+            } else if (cmp > 0) {
+                node.setRight(this.delete(node.getRightNode(), key));
+                result = this.rebalance(node);
+            } else {
+                this.removedInfo = (V)node.getInfo();
+                if (node.getLeft() == null) {
+                    result = node.getRightNode();
+                } else if (node.getRight() == null) {
+                    result = node.getLeftNode();
+                } else {
+                    AVLTreeNode<K, V> successor = node.getRightNode();
+
+                    while(successor.getLeftNode() != null) {
+                        successor = successor.getLeftNode();
+                    }
+
+                    successor.setRight(this.detachMin(node.getRightNode()));
+                    successor.setLeft(node.getLeft());
+                    result = this.rebalance(successor);
+                }
+
+                node.setLeft((BinaryTreeNode)null);
+                node.setRight((BinaryTreeNode)null);
+                node.update();
+            }
+        }
+
+        return result;
+    }
+
+    private AVLTreeNode<K, V> detachMin(AVLTreeNode<K, V> node) {
+        AVLTreeNode<K, V> result;
+        if (node.getLeft() == null) {
+            result = node.getRightNode();
+        } else {
+            node.setLeft(this.detachMin(node.getLeftNode()));
+            result = this.rebalance(node);
+        }
+
+        return result;
+    }
+
+    private AVLTreeNode<K, V> rebalance(AVLTreeNode<K, V> node) {
+        node.update();
+        int balance = node.balance();
+        AVLTreeNode<K, V> result = node;
+        if (balance > 1) {
+            if (node.getLeftNode().balance() < 0) {
+                node.setLeft(this.rotateLeft(node.getLeftNode()));
+            }
+
+            result = this.rotateRight(node);
+        } else if (balance < -1) {
+            if (node.getRightNode().balance() > 0) {
+                node.setRight(this.rotateRight(node.getRightNode()));
+            }
+
+            result = this.rotateLeft(node);
+        }
+
+        return result;
+    }
+
+    private AVLTreeNode<K, V> rotateRight(AVLTreeNode<K, V> node) {
+        AVLTreeNode<K, V> pivot = node.getLeftNode();
+        node.setLeft(pivot.getRight());
+        pivot.setRight(node);
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private AVLTreeNode<K, V> rotateLeft(AVLTreeNode<K, V> node) {
+        AVLTreeNode<K, V> pivot = node.getRightNode();
+        node.setRight(pivot.getLeft());
+        pivot.setLeft(node);
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+}
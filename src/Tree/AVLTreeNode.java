@@ -0,0 +1,61 @@
+package Tree;
+
+import java.io.Serializable;
+
+public class AVLTreeNode<K, V> extends BinaryTreeNode<V> implements IAugmentedNode, Serializable {
+    private static final long serialVersionUID = 1L;
+    protected K key;
+    protected int height;
+    protected int size;
+    protected int leafCount;
+
+    public AVLTreeNode(K key, V info) {
+        super(info);
+        this.key = key;
+        this.height = 0;
+        this.size = 1;
+        this.leafCount = 1;
+    }
+
+    public K getKey() {
+        return this.key;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public int getSize() {
+        return this.size;
+    }
+
+    public int getLeafCount() {
+        return this.leafCount;
+    }
+
+    public AVLTreeNode<K, V> getLeftNode() {
+        return (AVLTreeNode)this.left;
+    }
+
+    public AVLTreeNode<K, V> getRightNode() {
+        return (AVLTreeNode)this.right;
+    }
+
+    void update() {
+        int leftHeight = this.left != null ? ((AVLTreeNode)this.left).height : -1;
+        int rightHeight = this.right != null ? ((AVLTreeNode)this.right).height : -1;
+        int leftSize = this.left != null ? ((AVLTreeNode)this.left).size : 0;
+        int rightSize = this.right != null ? ((AVLTreeNode)this.right).size : 0;
+        this.height = Math.max(leftHeight, rightHeight) + 1;
+        this.size = leftSize + rightSize + 1;
+        int leftLeaves = this.left != null ? ((AVLTreeNode)this.left).leafCount : 0;
+        int rightLeaves = this.right != null ? ((AVLTreeNode)this.right).leafCount : 0;
+        this.leafCount = this.left == null && this.right == null ? 1 : leftLeaves + rightLeaves;
+    }
+
+    int balance() {
+        int leftHeight = this.left != null ? ((AVLTreeNode)this.left).height : -1;
+        int rightHeight = this.right != null ? ((AVLTreeNode)this.right).height : -1;
+        return leftHeight - rightHeight;
+    }
+}
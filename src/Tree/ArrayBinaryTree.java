@@ -0,0 +1,344 @@
+package Tree;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ArrayBinaryTree<E> extends BinaryTree<E> implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private IndexedBinaryTreeNode<E>[] slots;
+    private int[] heights;
+    private int[] sizes;
+    private int[] leafCounts;
+    private int count;
+
+    public ArrayBinaryTree() {
+        this(3);
+    }
+
+    public ArrayBinaryTree(int expectedHeight) {
+        int capacity = 1 << Math.max(1, Math.min(expectedHeight + 1, 30));
+        this.slots = (IndexedBinaryTreeNode[])(new IndexedBinaryTreeNode[capacity]);
+        this.heights = new int[capacity];
+        this.sizes = new int[capacity];
+        this.leafCounts = new int[capacity];
+        this.count = 0;
+        this.root = null;
+    }
+
+    public static int fatherIndex(int index) {
+        return index >> 1;
+    }
+
+    public static int leftIndex(int index) {
+        return index << 1;
+    }
+
+    public static int rightIndex(int index) {
+        return (index << 1) + 1;
+    }
+
+    public static int siblingIndex(int index) {
+        return index > 1 ? index ^ 1 : 0;
+    }
+
+    public static int levelOf(int index) {
+        return 31 - Integer.numberOfLeadingZeros(index);
+    }
+
+    public static int firstIndexBelow(int index, int depth) {
+        return index << depth;
+    }
+
+    public static int lastIndexBelow(int index, int depth) {
+        return (index << depth) + (1 << depth) - 1;
+    }
+
+    public int capacity() {
+        return this.slots.length;
+    }
+
+    public IndexedBinaryTreeNode<E> nodeAt(int index) {
+        return index > 0 && index < this.slots.length ? this.slots[index] : null;
+    }
+
+    public int indexOf(BinaryTreeNode<E> node) {
+        int index = 0;
+        if (node instanceof IndexedBinaryTreeNode && ((IndexedBinaryTreeNode)node).tree == this) {
+            index = ((IndexedBinaryTreeNode)node).index;
+        }
+
+        return index;
+    }
+
+    public boolean isLeafIndex(int index) {
+        return this.nodeAt(index) != null && this.nodeAt(leftIndex(index)) == null && this.nodeAt(rightIndex(index)) == null;
+    }
+
+    public IndexedBinaryTreeNode<E> getSibling(BinaryTreeNode<E> node) {
+        return this.nodeAt(siblingIndex(this.indexOf(node)));
+    }
+
+    int heightAt(int index) {
+        return this.nodeAt(index) != null ? this.heights[index] : -1;
+    }
+
+    int sizeAt(int index) {
+        return this.nodeAt(index) != null ? this.sizes[index] : 0;
+    }
+
+    int leafCountAt(int index) {
+        return this.nodeAt(index) != null ? this.leafCounts[index] : 0;
+    }
+
+    public IndexedBinaryTreeNode<E> putAt(int index, E info) {
+        IndexedBinaryTreeNode<E> node = null;
+        if (index > 0 && this.nodeAt(index) == null && (index == 1 || this.nodeAt(fatherIndex(index)) != null)) {
+            node = new IndexedBinaryTreeNode(info);
+            this.place(node, index);
+        }
+
+        return node;
+    }
+
+    private void place(IndexedBinaryTreeNode<E> node, int index) {
+        this.modifying();
+        this.ensureCapacity(index);
+        this.slots[index] = node;
+        this.heights[index] = -1;
+        this.sizes[index] = 0;
+        this.leafCounts[index] = 0;
+        node.tree = this;
+        node.index = index;
+        ++this.count;
+        if (index == 1) {
+            this.root = node;
+        }
+
+        this.refreshFrom(index);
+    }
+
+    private void removeSubtree(int index) {
+        this.modifying();
+        int depth = 0;
+
+        for(int first = index; first > 0 && first < this.slots.length; first = firstIndexBelow(index, depth)) {
+            int last = Math.min(lastIndexBelow(index, depth), this.slots.length - 1);
+
+            for(int i = first; i <= last; ++i) {
+                IndexedBinaryTreeNode<E> node = this.slots[i];
+                if (node != null) {
+                    node.tree = null;
+                    node.index = 0;
+                    this.slots[i] = null;
+                    --this.count;
+                }
+            }
+
+            ++depth;
+        }
+
+        if (index == 1) {
+            this.root = null;
+        }
+
+        this.refreshFrom(fatherIndex(index));
+    }
+
+    private void relocate(int from, int to) {
+        this.modifying();
+        int height = this.heightAt(from);
+
+        for(int depth = height; depth >= 0; --depth) {
+            int first = firstIndexBelow(from, depth);
+            int span = 1 << depth;
+
+            for(int i = 0; i < span; ++i) {
+                IndexedBinaryTreeNode<E> node = this.nodeAt(first + i);
+                if (node != null) {
+                    int target = firstIndexBelow(to, depth) + i;
+                    this.ensureCapacity(target);
+                    this.slots[target] = node;
+                    this.heights[target] = this.heights[first + i];
+                    this.sizes[target] = this.sizes[first + i];
+                    this.leafCounts[target] = this.leafCounts[first + i];
+                    this.slots[first + i] = null;
+                    node.index = target;
+                }
+            }
+        }
+
+        if (from == 1) {
+            this.root = null;
+        }
+
+        this.refreshFrom(fatherIndex(to));
+    }
+
+    private void refreshFrom(int index) {
+        boolean changed = true;
+
+        for(int i = index; i > 0 && changed; i = fatherIndex(i)) {
+            if (this.slots[i] != null) {
+                int height = Math.max(this.heightAt(leftIndex(i)), this.heightAt(rightIndex(i))) + 1;
+                int size = this.sizeAt(leftIndex(i)) + this.sizeAt(rightIndex(i)) + 1;
+                int leafCount = height == 0 ? 1 : this.leafCountAt(leftIndex(i)) + this.leafCountAt(rightIndex(i));
+                changed = height != this.heights[i] || size != this.sizes[i] || leafCount != this.leafCounts[i];
+                this.heights[i] = height;
+                this.sizes[i] = size;
+                this.leafCounts[i] = leafCount;
+            }
+        }
+
+    }
+
+    private void ensureCapacity(int index) {
+        if (index <= 0) {
+            throw new IllegalStateException("ArrayBinaryTree index overflow");
+        } else {
+            int capacity = this.slots.length;
+
+            while(capacity <= index) {
+                capacity *= 2;
+            }
+
+            if (capacity != this.slots.length) {
+                IndexedBinaryTreeNode<E>[] newSlots = (IndexedBinaryTreeNode[])(new IndexedBinaryTreeNode[capacity]);
+                int[] newHeights = new int[capacity];
+                int[] newSizes = new int[capacity];
+                int[] newLeafCounts = new int[capacity];
+                System.arraycopy(this.slots, 0, newSlots, 0, this.slots.length);
+                System.arraycopy(this.heights, 0, newHeights, 0, this.heights.length);
+                System.arraycopy(this.sizes, 0, newSizes, 0, this.sizes.length);
+                System.arraycopy(this.leafCounts, 0, newLeafCounts, 0, this.leafCounts.length);
+                this.slots = newSlots;
+                this.heights = newHeights;
+                this.sizes = newSizes;
+                this.leafCounts = newLeafCounts;
+            }
+
+        }
+    }
+
+    void setSon(IndexedBinaryTreeNode<E> father, BinaryTreeNode<E> son, boolean left) {
+        int index = left ? leftIndex(father.index) : rightIndex(father.index);
+        IndexedBinaryTreeNode<E> current = this.nodeAt(index);
+        if (son != current) {
+            if (son == null) {
+                this.removeSubtree(index);
+            } else {
+                if (current != null || !this.isDetached(son)) {
+                    throw new UnsupportedOperationException("ArrayBinaryTree nodes can only be placed in empty slots");
+                }
+
+                this.place((IndexedBinaryTreeNode)son, index);
+            }
+        }
+
+    }
+
+    private boolean isDetached(BinaryTreeNode<E> node) {
+        return node instanceof IndexedBinaryTreeNode && !((IndexedBinaryTreeNode)node).isAttached();
+    }
+
+    public void setRoot(TreeNode<E> root) {
+        if (root != this.root) {
+            if (root != null && !this.isDetached((BinaryTreeNode)root)) {
+                throw new UnsupportedOperationException("ArrayBinaryTree root must be a detached IndexedBinaryTreeNode");
+            }
+
+            if (this.root != null) {
+                this.removeSubtree(1);
+            }
+
+            if (root != null) {
+                this.place((IndexedBinaryTreeNode)root, 1);
+            }
+        }
+
+    }
+
+    public TreeNode<E> getRoot() {
+        return this.root;
+    }
+
+    public boolean insertNode(BinaryTreeNode<E> node, char type, BinaryTreeNode<E> father) {
+        boolean inserted = false;
+        if (this.isDetached(node)) {
+            IndexedBinaryTreeNode<E> indexed = (IndexedBinaryTreeNode)node;
+            if (type == 'R' && father == null) {
+                if (!this.isEmpty()) {
+                    this.relocate(1, 2);
+                }
+
+                this.place(indexed, 1);
+                inserted = true;
+            } else {
+                int fatherIndex = this.indexOf(father);
+                if (fatherIndex > 0) {
+                    int index = type == 'L' ? leftIndex(fatherIndex) : rightIndex(fatherIndex);
+                    if (this.nodeAt(index) != null) {
+                        this.relocate(index, type == 'L' ? leftIndex(index) : rightIndex(index));
+                    }
+
+                    this.place(indexed, index);
+                    inserted = true;
+                }
+            }
+        }
+
+        return inserted;
+    }
+
+    public E deleteNode(BinaryTreeNode<E> node) {
+        E info = null;
+        if (node != null) {
+            int index = this.indexOf(node);
+            if (index > 0) {
+                this.removeSubtree(index);
+            }
+
+            info = (E)node.getInfo();
+        }
+
+        return info;
+    }
+
+    public BinaryTreeNode<E> getFather(BinaryTreeNode<E> node) {
+        return this.nodeAt(fatherIndex(this.indexOf(node)));
+    }
+
+    public boolean containsNode(BinaryTreeNode<E> node) {
+        return this.indexOf(node) > 0;
+    }
+
+    public int nodeLevel(TreeNode<E> node) {
+        int index = node instanceof BinaryTreeNode ? this.indexOf((BinaryTreeNode)node) : 0;
+        return index > 0 ? levelOf(index) : -1;
+    }
+
+    public boolean nodeIsLeaf(TreeNode<E> node) {
+        int index = node instanceof BinaryTreeNode ? this.indexOf((BinaryTreeNode)node) : 0;
+        return index > 0 ? this.isLeafIndex(index) : super.nodeIsLeaf(node);
+    }
+
+    public List<TreeNode<E>> getLeaves() {
+        List<TreeNode<E>> leavesList = new ArrayList();
+
+        for(int i = 1; i < this.slots.length; ++i) {
+            if (this.isLeafIndex(i)) {
+                leavesList.add(this.slots[i]);
+            }
+        }
+
+        return leavesList;
+    }
+
+    public int totalNodes() {
+        return this.count;
+    }
+
+    public int treeHeight() {
+        return this.heightAt(1);
+    }
+}
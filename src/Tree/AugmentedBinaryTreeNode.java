@@ -0,0 +1,101 @@
+package Tree;
+
+import java.io.Serializable;
+
+public class AugmentedBinaryTreeNode<E> extends LinkedBinaryTreeNode<E> implements IAugmentedNode, Serializable {
+    private static final long serialVersionUID = 1L;
+    protected int height;
+    protected int size;
+    protected int leafCount;
+
+    public AugmentedBinaryTreeNode() {
+        super();
+        this.height = 0;
+        this.size = 1;
+        this.leafCount = 1;
+    }
+
+    public AugmentedBinaryTreeNode(E info) {
+        super(info);
+        this.height = 0;
+        this.size = 1;
+        this.leafCount = 1;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public int getSize() {
+        return this.size;
+    }
+
+    public int getLeafCount() {
+        return this.leafCount;
+    }
+
+    public void setLeft(BinaryTreeNode<E> left) {
+        super.setLeft(left);
+        this.refreshUpward();
+    }
+
+    public void setRight(BinaryTreeNode<E> right) {
+        super.setRight(right);
+        this.refreshUpward();
+    }
+
+    protected boolean recompute() {
+        int newHeight = Math.max(heightOf(this.left), heightOf(this.right)) + 1;
+        int newSize = sizeOf(this.left) + sizeOf(this.right) + 1;
+        int newLeafCount = this.left == null && this.right == null ? 1 : leafCountOf(this.left) + leafCountOf(this.right);
+        boolean changed = newHeight != this.height || newSize != this.size || newLeafCount != this.leafCount;
+        this.height = newHeight;
+        this.size = newSize;
+        this.leafCount = newLeafCount;
+        return changed;
+    }
+
+    protected void refreshUpward() {
+        AugmentedBinaryTreeNode<E> cursor = this;
+        boolean changed = true;
+
+        while(cursor != null && changed) {
+            changed = cursor.recompute();
+            cursor = cursor.father instanceof AugmentedBinaryTreeNode ? (AugmentedBinaryTreeNode)cursor.father : null;
+        }
+
+    }
+
+    public static int heightOf(BinaryTreeNode<?> node) {
+        int height = -1;
+        if (node instanceof IAugmentedNode) {
+            height = ((IAugmentedNode)node).getHeight();
+        } else if (node != null) {
+            height = Math.max(heightOf(node.getLeft()), heightOf(node.getRight())) + 1;
+        }
+
+        return height;
+    }
+
+    public static int sizeOf(BinaryTreeNode<?> node) {
+        int size = 0;
+        if (node instanceof IAugmentedNode) {
+            size = ((IAugmentedNode)node).getSize();
+        } else if (node != null) {
+            size = sizeOf(node.getLeft()) + sizeOf(node.getRight()) + 1;
+        }
+
+        return size;
+    }
+
+    public static int leafCountOf(BinaryTreeNode<?> node) {
+        int leafCount = 0;
+        if (node instanceof IAugmentedNode) {
+            leafCount = ((IAugmentedNode)node).getLeafCount();
+        } else if (node != null) {
+            leafCount = node.getLeft() == null && node.getRight() == null ? 1 : leafCountOf(node.getLeft()) + leafCountOf(node.getRight());
+        }
+
+        return leafCount;
+    }
+}
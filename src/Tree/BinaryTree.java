@@ -3,6 +3,8 @@ package Tree;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.random.RandomGenerator;
+import java.util.function.Predicate;
 
 public class BinaryTree<E> extends Tree<E> implements Serializable {
     private static final long serialVersionUID = 1L;
@@ -39,16 +41,25 @@ public class BinaryTree<E> extends Tree<E> implements Serializable {
 
     public int nodeLevel(TreeNode<E> node) {
         if (node != null) {
-            return node.equals(this.root) ? 0 : this.nodeLevel(this.getFather((BinaryTreeNode)node)) + 1;
+            if (node.equals(this.root)) {
+                return 0;
+            } else {
+                return this.isLinked(node) ? ((LinkedBinaryTreeNode)node).getDepth() - ((LinkedBinaryTreeNode)this.root).getDepth() : this.nodeLevel(this.getFather((BinaryTreeNode)node)) + 1;
+            }
         } else {
             return -1;
         }
     }
 
+    protected boolean isLinked(TreeNode<E> node) {
+        return node instanceof LinkedBinaryTreeNode && this.root instanceof LinkedBinaryTreeNode && ((LinkedBinaryTreeNode)node).getFather() != null;
+    }
+
     public E deleteNode(BinaryTreeNode<E> node) {
         if (node == null) {
             return null;
         } else {
+            this.modifying();
             if (this.root != null && this.root.equals(node)) {
                 this.root = null;
             } else {
@@ -87,14 +98,18 @@ public class BinaryTree<E> extends Tree<E> implements Serializable {
     public BinaryTreeNode<E> getFather(BinaryTreeNode<E> node) {
         BinaryTreeNode<E> returnNode = null;
         if (node != null && !node.equals(this.root)) {
-            PreorderIterator<E> iterator = this.preOrderIterator();
-            boolean stop = false;
-
-            while(iterator.hasNext() && !stop) {
-                BinaryTreeNode<E> iterNode = iterator.nextNode();
-                if (node.equals(iterNode.getLeft()) || node.equals(iterNode.getRight())) {
-                    stop = true;
-                    returnNode = iterNode;
+            if (this.isLinked(node)) {
+                returnNode = ((LinkedBinaryTreeNode)node).getFather();
+            } else {
+                PreorderIterator<E> iterator = this.preOrderIterator();
+                boolean stop = false;
+
+                while(iterator.hasNext() && !stop) {
+                    BinaryTreeNode<E> iterNode = iterator.nextNode();
+                    if (node.equals(iterNode.getLeft()) || node.equals(iterNode.getRight())) {
+                        stop = true;
+                        returnNode = iterNode;
+                    }
                 }
             }
         }
@@ -102,6 +117,31 @@ public class BinaryTree<E> extends Tree<E> implements Serializable {
         return returnNode;
     }
 
+    public boolean containsNode(BinaryTreeNode<E> node) {
+        boolean found = false;
+        if (node != null && this.root != null) {
+            if (node instanceof LinkedBinaryTreeNode && this.root instanceof LinkedBinaryTreeNode) {
+                LinkedBinaryTreeNode<E> cursor;
+                for(cursor = (LinkedBinaryTreeNode)node; cursor.getFather() != null && !cursor.equals(this.root); cursor = cursor.getFather()) {
+                }
+
+                found = cursor.equals(this.root);
+            }
+
+            if (!found) {
+                PreorderIterator<E> iterator = this.preOrderIterator();
+
+                while(iterator.hasNext() && !found) {
+                    if (iterator.nextNode().equals(node)) {
+                        found = true;
+                    }
+                }
+            }
+        }
+
+        return found;
+    }
+
     public List<TreeNode<E>> getLeaves() {
         List<TreeNode<E>> leavesList = new ArrayList();
         PreorderIterator<E> iterator = this.preOrderIterator();
@@ -173,6 +213,15 @@ public class BinaryTree<E> extends Tree<E> implements Serializable {
         return tree;
     }
 
+    public BinaryTree<E> subTreeView(BinaryTreeNode<E> node) {
+        BinaryTree<E> tree = null;
+        if (node != null && this.containsNode(node)) {
+            tree = new CopyOnWriteBinaryTree(this, node);
+        }
+
+        return tree;
+    }
+
     private void buildSubTree(BinaryTreeNode<E> srcFather, BinaryTreeNode<E> newFather) {
         if (srcFather.getLeft() != null) {
             BinaryTreeNode<E> newLeft = new BinaryTreeNode(srcFather.getLeft().getInfo());
@@ -188,30 +237,31 @@ public class BinaryTree<E> extends Tree<E> implements Serializable {
 
     }
 
+    public E setNodeInfo(BinaryTreeNode<E> node, E info) {
+        E old = null;
+        if (node != null && this.containsNode(node)) {
+            this.modifying();
+            old = (E)node.getInfo();
+            node.setInfo(info);
+        }
+
+        return old;
+    }
+
     public boolean insertNode(BinaryTreeNode<E> node, char type, BinaryTreeNode<E> father) {
         boolean inserted = false;
         if (node != null) {
             if (type == 'R' && father == null) {
-                if (this.isEmpty()) {
-                    this.setRoot(node);
-                } else {
+                this.modifying();
+                if (!this.isEmpty()) {
                     node.setLeft((BinaryTreeNode)this.root);
-                    this.setRoot(node);
                 }
 
+                this.root = node;
                 inserted = true;
             } else {
-                PreorderIterator<E> iterator = this.preOrderIterator();
-                boolean existsFather = false;
-
-                while(iterator.hasNext() && !existsFather) {
-                    BinaryTreeNode<E> currentNode = iterator.nextNode();
-                    if (currentNode.equals(father)) {
-                        existsFather = true;
-                    }
-                }
-
-                if (existsFather) {
+                if (this.containsNode(father)) {
+                    this.modifying();
                     if (type == 'L') {
                         node.setLeft(father.getLeft());
                         father.setLeft(node);
@@ -230,14 +280,114 @@ public class BinaryTree<E> extends Tree<E> implements Serializable {
 
     public int totalNodes() {
         int count = 0;
-
-        for(PreorderIterator<E> iterator = this.preOrderIterator(); iterator.hasNext(); ++count) {
-            iterator.next();
+        if (this.root instanceof IAugmentedNode) {
+            count = ((IAugmentedNode)this.root).getSize();
+        } else {
+            for(PreorderIterator<E> iterator = this.preOrderIterator(); iterator.hasNext(); ++count) {
+                iterator.next();
+            }
         }
 
         return count;
     }
 
+    public int subtreeHeight(BinaryTreeNode<E> node) {
+        return AugmentedBinaryTreeNode.heightOf(node);
+    }
+
+    public int subtreeSize(BinaryTreeNode<E> node) {
+        return AugmentedBinaryTreeNode.sizeOf(node);
+    }
+
+    public int subtreeLeafCount(BinaryTreeNode<E> node) {
+        return AugmentedBinaryTreeNode.leafCountOf(node);
+    }
+
+    public BinaryTreeNode<E> kthNode(int k) {
+        BinaryTreeNode<E> cursor = (BinaryTreeNode)this.root;
+        BinaryTreeNode<E> found = null;
+        if (k >= 0 && k < this.subtreeSize(cursor)) {
+            while(found == null) {
+                if (k == 0) {
+                    found = cursor;
+                } else {
+                    --k;
+                    int leftSize = this.subtreeSize(cursor.getLeft());
+                    if (k < leftSize) {
+                        cursor = cursor.getLeft();
+                    } else {
+                        k -= leftSize;
+                        cursor = cursor.getRight();
+                    }
+                }
+            }
+        }
+
+        return found;
+    }
+
+    public BinaryTreeNode<E> kthLeaf(int k) {
+        BinaryTreeNode<E> cursor = (BinaryTreeNode)this.root;
+        BinaryTreeNode<E> found = null;
+        if (k >= 0 && k < this.subtreeLeafCount(cursor)) {
+            while(found == null) {
+                if (cursor.getLeft() == null && cursor.getRight() == null) {
+                    found = cursor;
+                } else {
+                    int leftLeaves = this.subtreeLeafCount(cursor.getLeft());
+                    if (k < leftLeaves) {
+                        cursor = cursor.getLeft();
+                    } else {
+                        k -= leftLeaves;
+                        cursor = cursor.getRight();
+                    }
+                }
+            }
+        }
+
+        return found;
+    }
+
+    public BinaryTreeNode<E> randomNode(RandomGenerator random) {
+        int total = this.subtreeSize((BinaryTreeNode)this.root);
+        return total > 0 ? this.kthNode(random.nextInt(total)) : null;
+    }
+
+    public BinaryTreeNode<E> randomLeaf(RandomGenerator random) {
+        int total = this.subtreeLeafCount((BinaryTreeNode)this.root);
+        return total > 0 ? this.kthLeaf(random.nextInt(total)) : null;
+    }
+
+    public BinaryTreeNode<E> randomNode(RandomGenerator random, Predicate<BinaryTreeNode<E>> predicate) {
+        BinaryTreeNode<E> found = null;
+
+        for(int attempt = 0; attempt < 16 && found == null; ++attempt) {
+            BinaryTreeNode<E> candidate = this.randomNode(random);
+            if (candidate == null) {
+                attempt = 16;
+            } else if (predicate.test(candidate)) {
+                found = candidate;
+            }
+        }
+
+        if (found == null && !this.isEmpty()) {
+            int matches = 0;
+            PreorderCursor<E> cursor = this.preOrderCursor();
+
+            while(cursor.hasNext()) {
+                BinaryTreeNode<E> candidate = cursor.nextNode();
+                if (predicate.test(candidate)) {
+                    ++matches;
+                    if (random.nextInt(matches) == 0) {
+                        found = candidate;
+                    }
+                }
+            }
+        }
+
+        return found;
+    }
+
     public TreeNode<E> getRoot() {
         return this.root;
     }
@@ -254,11 +404,27 @@ public class BinaryTree<E> extends Tree<E> implements Serializable {
         return new PosOrderIterator(this);
     }
 
+    public PreorderCursor<E> preOrderCursor() {
+        return new PreorderCursor(this);
+    }
+
+    public SymmetricCursor<E> symmetricCursor() {
+        return new SymmetricCursor(this);
+    }
+
+    public PosOrderCursor<E> posOrderCursor() {
+        return new PosOrderCursor(this);
+    }
+
+    public BreadthCursor<E> breadthCursor() {
+        return new BreadthCursor(this);
+    }
+
     public boolean nodeIsLeaf(TreeNode<E> node) {
         return ((BinaryTreeNode)node).getLeft() == null && ((BinaryTreeNode)node).getRight() == null;
     }
 
     public int treeHeight() {
-        return this.level((BinaryTreeNode)this.root);
+        return this.root instanceof IAugmentedNode ? ((IAugmentedNode)this.root).getHeight() : this.level((BinaryTreeNode)this.root);
     }
 }
@@ -0,0 +1,122 @@
+package Tree;
+
+public class BreadthCursor<E> extends TreeCursor<E> {
+    private int head;
+    private int size;
+    private boolean general;
+
+    public BreadthCursor(Tree<E> tree) {
+        super(tree);
+    }
+
+    protected void start(BinaryTreeNode<E> root) {
+        for(int i = 0; i < this.size; ++i) {
+            this.stack[(this.head + i) % this.stack.length] = null;
+        }
+
+        this.head = 0;
+        this.size = 0;
+        this.general = this.tree instanceof GeneralTree;
+        if (root != null) {
+            this.enqueue(root, 0);
+        }
+
+    }
+
+    public boolean hasNext() {
+        return this.size > 0;
+    }
+
+    public BinaryTreeNode<E> nextNode() {
+        this.checkForComodification();
+        this.currentNode = null;
+        if (this.size > 0) {
+            this.currentNode = this.stack[this.head];
+            this.currentDepth = this.state[this.head];
+            this.stack[this.head] = null;
+            this.head = (this.head + 1) % this.stack.length;
+            --this.size;
+            this.enqueueSons(this.currentNode, this.currentDepth + 1);
+        }
+
+        return this.currentNode;
+    }
+
+    protected void skipCurrentSubtree() {
+        int kept = 0;
+
+        for(int i = 0; i < this.size; ++i) {
+            int index = (this.head + i) % this.stack.length;
+            BinaryTreeNode<E> node = this.stack[index];
+            if (!this.isSon(this.currentNode, node)) {
+                int target = (this.head + kept) % this.stack.length;
+                this.stack[target] = node;
+                this.state[target] = this.state[index];
+                ++kept;
+            }
+        }
+
+        for(int i = kept; i < this.size; ++i) {
+            this.stack[(this.head + i) % this.stack.length] = null;
+        }
+
+        this.size = kept;
+    }
+
+    private boolean isSon(BinaryTreeNode<E> father, BinaryTreeNode<E> node) {
+        boolean son = false;
+        if (this.general) {
+            for(BinaryTreeNode<E> cursor = father.getLeft(); cursor != null && !son; cursor = cursor.getRight()) {
+                son = cursor == node;
+            }
+        } else {
+            son = father.getLeft() == node || father.getRight() == node;
+        }
+
+        return son;
+    }
+
+    private void enqueueSons(BinaryTreeNode<E> node, int depth) {
+        if (this.general) {
+            for(BinaryTreeNode<E> son = node.getLeft(); son != null; son = son.getRight()) {
+                this.enqueue(son, depth);
+            }
+        } else {
+            if (node.getLeft() != null) {
+                this.enqueue(node.getLeft(), depth);
+            }
+
+            if (node.getRight() != null) {
+                this.enqueue(node.getRight(), depth);
+            }
+        }
+
+    }
+
+    private void enqueue(BinaryTreeNode<E> node, int depth) {
+        if (this.size == this.stack.length) {
+            this.growRing();
+        }
+
+        int tail = (this.head + this.size) % this.stack.length;
+        this.stack[tail] = node;
+        this.state[tail] = depth;
+        ++this.size;
+    }
+
+    private void growRing() {
+        int capacity = this.stack.length * 2;
+        BinaryTreeNode<E>[] newStack = (BinaryTreeNode[])(new BinaryTreeNode[capacity]);
+        int[] newState = new int[capacity];
+
+        for(int i = 0; i < this.size; ++i) {
+            int index = (this.head + i) % this.stack.length;
+            newStack[i] = this.stack[index];
+            newState[i] = this.state[index];
+        }
+
+        this.stack = newStack;
+        this.state = newState;
+        this.head = 0;
+    }
+}
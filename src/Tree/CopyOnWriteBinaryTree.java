@@ -0,0 +1,228 @@
+package Tree;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+public class CopyOnWriteBinaryTree<E> extends BinaryTree<E> implements Serializable, TreeSnapshot {
+    private static final long serialVersionUID = 1L;
+    private final IdentityHashMap<BinaryTreeNode<E>, BinaryTreeNode<E>> copies;
+    private final Set<BinaryTreeNode<E>> owned;
+    private boolean frozen;
+
+    public CopyOnWriteBinaryTree(BinaryTreeNode<E> root) {
+        this((Tree)null, root);
+    }
+
+    public CopyOnWriteBinaryTree(Tree<E> source, BinaryTreeNode<E> root) {
+        super(root);
+        this.copies = new IdentityHashMap();
+        this.owned = Collections.newSetFromMap(new IdentityHashMap());
+        this.frozen = source == null;
+        if (source != null) {
+            source.registerSnapshot(this);
+        }
+
+    }
+
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    public void freeze() {
+        if (!this.frozen) {
+            this.frozen = true;
+            if (this.root != null) {
+                this.root = this.ownAll((BinaryTreeNode)this.root);
+            }
+        }
+
+    }
+
+    private BinaryTreeNode<E> ownAll(BinaryTreeNode<E> node) {
+        BinaryTreeNode<E> owner = this.owned.contains(node) ? node : this.ownCopy(node);
+        if (owner.getLeft() != null) {
+            owner.setLeft(this.ownAll(owner.getLeft()));
+        }
+
+        if (owner.getRight() != null) {
+            owner.setRight(this.ownAll(owner.getRight()));
+        }
+
+        return owner;
+    }
+
+    public BinaryTreeNode<E> resolve(BinaryTreeNode<E> node) {
+        BinaryTreeNode<E> copy = (BinaryTreeNode)this.copies.get(node);
+        return copy != null ? copy : node;
+    }
+
+    public boolean isShared(BinaryTreeNode<E> node) {
+        return node != null && !this.owned.contains(node);
+    }
+
+    public int copiedNodes() {
+        return this.copies.size();
+    }
+
+    private BinaryTreeNode<E>[] pathTo(BinaryTreeNode<E> target) {
+        BinaryTreeNode<E>[] path = (BinaryTreeNode[])(new BinaryTreeNode[16]);
+        int length = 0;
+        if (target != null) {
+            PreorderCursor<E> iterator = this.preOrderCursor();
+
+            while(iterator.hasNext() && length == 0) {
+                BinaryTreeNode<E> node = iterator.nextNode();
+                int depth = iterator.getCurrentDepth();
+                if (depth >= path.length) {
+                    path = (BinaryTreeNode[])Arrays.copyOf(path, path.length * 2);
+                }
+
+                path[depth] = node;
+                if (node == target) {
+                    length = depth + 1;
+                }
+            }
+        }
+
+        return length > 0 ? (BinaryTreeNode[])Arrays.copyOf(path, length) : null;
+    }
+
+    private BinaryTreeNode<E> own(BinaryTreeNode<E>[] path, int last) {
+        BinaryTreeNode<E> father = null;
+
+        for(int i = 0; i <= last; ++i) {
+            BinaryTreeNode<E> node = path[i];
+            BinaryTreeNode<E> owner = node;
+            if (!this.owned.contains(node)) {
+                owner = this.ownCopy(node);
+                if (father == null) {
+                    this.root = owner;
+                } else if (father.getLeft() == node) {
+                    father.setLeft(owner);
+                } else {
+                    father.setRight(owner);
+                }
+            }
+
+            father = owner;
+        }
+
+        return father;
+    }
+
+    private BinaryTreeNode<E> ownCopy(BinaryTreeNode<E> node) {
+        BinaryTreeNode<E> copy = new BinaryTreeNode(node.getInfo());
+        copy.setLeft(node.getLeft());
+        copy.setRight(node.getRight());
+        this.copies.put(node, copy);
+        this.owned.add(copy);
+        return copy;
+    }
+
+    private BinaryTreeNode<E> attachable(BinaryTreeNode<E> holder, BinaryTreeNode<E> child) {
+        BinaryTreeNode<E> result = child;
+        if (child != null && holder.getClass() != BinaryTreeNode.class && !this.owned.contains(child)) {
+            result = this.ownCopy(child);
+        }
+
+        return result;
+    }
+
+    public boolean insertNode(BinaryTreeNode<E> node, char type, BinaryTreeNode<E> father) {
+        boolean inserted = false;
+        if (node != null) {
+            if (type == 'R' && father == null) {
+                this.modifying();
+                if (!this.isEmpty()) {
+                    node.setLeft(this.attachable(node, (BinaryTreeNode)this.root));
+                }
+
+                this.root = node;
+                this.owned.add(node);
+                inserted = true;
+            } else {
+                BinaryTreeNode<E>[] path = this.pathTo(this.resolve(father));
+                if (path != null) {
+                    this.modifying();
+                    BinaryTreeNode<E> owner = this.own(path, path.length - 1);
+                    if (type == 'L') {
+                        node.setLeft(this.attachable(node, owner.getLeft()));
+                        owner.setLeft(node);
+                    } else {
+                        node.setRight(this.attachable(node, owner.getRight()));
+                        owner.setRight(node);
+                    }
+
+                    this.owned.add(node);
+                    inserted = true;
+                }
+            }
+        }
+
+        return inserted;
+    }
+
+    public E setNodeInfo(BinaryTreeNode<E> node, E info) {
+        E old = null;
+        BinaryTreeNode<E>[] path = node != null ? this.pathTo(this.resolve(node)) : null;
+        if (path != null) {
+            this.modifying();
+            BinaryTreeNode<E> owner = this.own(path, path.length - 1);
+            old = (E)owner.getInfo();
+            owner.setInfo(info);
+        }
+
+        return old;
+    }
+
+    public E deleteNode(BinaryTreeNode<E> node) {
+        E info = null;
+        if (node != null) {
+            BinaryTreeNode<E> target = this.resolve(node);
+            if (target == this.root) {
+                this.modifying();
+                this.root = null;
+            } else {
+                BinaryTreeNode<E>[] path = this.pathTo(target);
+                if (path != null) {
+                    this.modifying();
+                    BinaryTreeNode<E> owner = this.own(path, path.length - 2);
+                    if (owner.getLeft() == target) {
+                        owner.setLeft((BinaryTreeNode)null);
+                    } else {
+                        owner.setRight((BinaryTreeNode)null);
+                    }
+                }
+            }
+
+            info = (E)node.getInfo();
+        }
+
+        return info;
+    }
+
+    public BinaryTreeNode<E> getFather(BinaryTreeNode<E> node) {
+        BinaryTreeNode<E>[] path = this.pathTo(this.resolve(node));
+        return path != null && path.length > 1 ? path[path.length - 2] : null;
+    }
+
+    public int nodeLevel(TreeNode<E> node) {
+        BinaryTreeNode<E>[] path = node instanceof BinaryTreeNode ? this.pathTo(this.resolve((BinaryTreeNode)node)) : null;
+        return path != null ? path.length - 1 : -1;
+    }
+
+    public boolean containsNode(BinaryTreeNode<E> node) {
+        return this.pathTo(this.resolve(node)) != null;
+    }
+
+    public BinaryTree<E> getSubTree(BinaryTreeNode<E> node) {
+        return super.getSubTree(this.resolve(node));
+    }
+
+    public BinaryTree<E> subTreeView(BinaryTreeNode<E> node) {
+        return super.subTreeView(this.resolve(node));
+    }
+}
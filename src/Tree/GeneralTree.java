@@ -44,6 +44,7 @@ class GeneralTree<E> extends Tree<E> implements Serializable {
         E info = null;
         if (node != null) {
             if (node.equals(this.root)) {
+                this.modifying();
                 this.root = null;
             } else {
                 InDepthIterator<E> iterator = this.inDepthIterator();
@@ -54,6 +55,7 @@ class GeneralTree<E> extends Tree<E> implements Serializable {
                     if (father.getLeft() != null) {
                         if (father.getLeft().equals(node)) {
                             foundedNode = true;
+                            this.modifying();
                             father.setLeft(node.getRight());
                         } else {
                             BinaryTreeNode<E> prev = father.getLeft();
@@ -62,6 +64,7 @@ class GeneralTree<E> extends Tree<E> implements Serializable {
                             while(cursor != null && !foundedNode) {
                                 if (cursor.equals(node)) {
                                     foundedNode = true;
+                                    this.modifying();
                                     prev.setRight(cursor.getRight());
                                 } else {
                                     prev = cursor;
@@ -168,6 +171,7 @@ class GeneralTree<E> extends Tree<E> implements Serializable {
                     BinaryTreeNode<E> iterNode = iterator.nextNode();
                     if (iterNode.equals(father)) {
                         stop = true;
+                        this.modifying();
                         BinaryTreeNode<E> cursor = father.getLeft();
                         if (cursor == null) {
                             father.setLeft(node);
@@ -181,6 +185,7 @@ class GeneralTree<E> extends Tree<E> implements Serializable {
                     }
                 }
             } else {
+                this.modifying();
                 if (((BinaryTreeNode)this.root).getRight() == null) {
                     ((BinaryTreeNode)this.root).setRight(node);
                 } else {
@@ -207,6 +212,7 @@ class GeneralTree<E> extends Tree<E> implements Serializable {
                 BinaryTreeNode<E> elem = iter.nextNode();
                 if (father.equals(elem)) {
                     founded = true;
+                    this.modifying();
                     if (father.getLeft() == null) {
                         father.setLeft(node);
                     } else {
@@ -288,6 +294,10 @@ class GeneralTree<E> extends Tree<E> implements Serializable {
         return new InBreadthIteratorWithLevels(this);
     }
 
+    public BreadthCursor<E> breadthCursor() {
+        return new BreadthCursor(this);
+    }
+
     public int treeHeight() {
         int height = -1;
         InBreadthIteratorWithLevels<E> iter = this.inBreadthIteratorWithLevels();
@@ -0,0 +1,9 @@
+package Tree;
+
+public interface IAugmentedNode {
+    int getHeight();
+
+    int getSize();
+
+    int getLeafCount();
+}
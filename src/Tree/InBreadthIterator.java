@@ -1,15 +1,19 @@
 package Tree;
 
 import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.List;
 
 public class InBreadthIterator<E> implements ITreeIterator<E> {
     private ArrayDeque<BinaryTreeNode<E>> deque;
     private BinaryTreeNode<E> currentNode;
     private BinaryTreeNode<E> nextNode;
     GeneralTree<E> tree;
+    private int expectedModCount;
 
     public InBreadthIterator(GeneralTree<E> tree) {
         this.tree = tree;
+        this.expectedModCount = tree.getModCount();
         this.currentNode = null;
         this.nextNode = (BinaryTreeNode)tree.getRoot();
         this.deque = new ArrayDeque();
@@ -24,6 +28,10 @@ public class InBreadthIterator<E> implements ITreeIterator<E> {
     }
 
     public E next() {
+        if (this.tree.getModCount() != this.expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+
         E returnInfo = null;
         this.currentNode = this.nextNode;
         if (this.nextNode != null) {
@@ -42,6 +50,10 @@ public class InBreadthIterator<E> implements ITreeIterator<E> {
     }
 
     public BinaryTreeNode<E> nextNode() {
+        if (this.tree.getModCount() != this.expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+
         this.currentNode = this.nextNode;
         if (this.nextNode != null) {
             if (this.deque.isEmpty()) {
@@ -58,6 +70,21 @@ public class InBreadthIterator<E> implements ITreeIterator<E> {
     }
 
     public void remove() {
-        this.tree.deleteNode(this.currentNode);
+        if (this.currentNode != null) {
+            List<BinaryTreeNode<E>> sons = this.tree.getSons(this.currentNode);
+            this.tree.deleteNode(this.currentNode);
+            this.deque.removeAll(sons);
+            if (sons.contains(this.nextNode)) {
+                this.deque.removeAll(this.tree.getSons(this.nextNode));
+                this.nextNode = (BinaryTreeNode)this.deque.poll();
+                if (this.nextNode != null && !this.tree.nodeIsLeaf(this.nextNode)) {
+                    this.deque.addAll(this.tree.getSons(this.nextNode));
+                }
+            }
+
+            this.expectedModCount = this.tree.getModCount();
+            this.currentNode = null;
+        }
+
     }
 }
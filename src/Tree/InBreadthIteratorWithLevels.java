@@ -2,6 +2,7 @@ package Tree;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
 import java.util.List;
 
 public class InBreadthIteratorWithLevels<E> implements ITreeIterator<E> {
@@ -9,9 +10,11 @@ public class InBreadthIteratorWithLevels<E> implements ITreeIterator<E> {
     private BreadthNode<E> currentNode;
     private BreadthNode<E> nextNode;
     GeneralTree<E> tree;
+    private int expectedModCount;
 
     public InBreadthIteratorWithLevels(GeneralTree<E> tree) {
         this.tree = tree;
+        this.expectedModCount = tree.getModCount();
         this.currentNode = null;
         this.nextNode = new BreadthNode((BinaryTreeNode)tree.getRoot());
         this.deque = new ArrayDeque();
@@ -27,6 +30,10 @@ public class InBreadthIteratorWithLevels<E> implements ITreeIterator<E> {
     }
 
     public E next() {
+        if (this.tree.getModCount() != this.expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+
         E returnInfo = null;
         this.currentNode = this.nextNode;
         if (this.nextNode != null) {
@@ -46,6 +53,10 @@ public class InBreadthIteratorWithLevels<E> implements ITreeIterator<E> {
     }
 
     public BinaryTreeNode<E> nextNode() {
+        if (this.tree.getModCount() != this.expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+
         this.currentNode = this.nextNode;
         if (this.nextNode != null) {
             if (this.deque.isEmpty()) {
@@ -63,6 +74,10 @@ public class InBreadthIteratorWithLevels<E> implements ITreeIterator<E> {
     }
 
     public BreadthNode<E> nextNodeWithLevel() {
+        if (this.tree.getModCount() != this.expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+
         this.currentNode = this.nextNode;
         if (this.nextNode != null) {
             if (this.deque.isEmpty()) {
@@ -80,7 +95,23 @@ public class InBreadthIteratorWithLevels<E> implements ITreeIterator<E> {
     }
 
     public void remove() {
-        this.tree.deleteNode(this.currentNode.getNode());
+        if (this.currentNode != null) {
+            List<BinaryTreeNode<E>> sons = this.tree.getSons(this.currentNode.getNode());
+            this.tree.deleteNode(this.currentNode.getNode());
+            this.deque.removeIf((breadthNode) -> sons.contains(breadthNode.getNode()));
+            if (this.nextNode != null && sons.contains(this.nextNode.getNode())) {
+                List<BinaryTreeNode<E>> nextSons = this.tree.getSons(this.nextNode.getNode());
+                this.deque.removeIf((breadthNode) -> nextSons.contains(breadthNode.getNode()));
+                this.nextNode = (BreadthNode)this.deque.poll();
+                if (this.nextNode != null && !this.tree.nodeIsLeaf(this.nextNode.getNode())) {
+                    this.deque.addAll(this.getSonsWithLevels(this.tree.getSons(this.nextNode.getNode()), this.nextNode.getLevel()));
+                }
+            }
+
+            this.expectedModCount = this.tree.getModCount();
+            this.currentNode = null;
+        }
+
     }
 
     public ArrayList<BreadthNode<E>> getSonsWithLevels(List<BinaryTreeNode<E>> sons, int fatherLevel) {
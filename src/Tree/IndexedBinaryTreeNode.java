@@ -0,0 +1,71 @@
+package Tree;
+
+import java.io.Serializable;
+
+public class IndexedBinaryTreeNode<E> extends BinaryTreeNode<E> implements IAugmentedNode, Serializable {
+    private static final long serialVersionUID = 1L;
+    ArrayBinaryTree<E> tree;
+    int index;
+
+    public IndexedBinaryTreeNode() {
+        super();
+        this.tree = null;
+        this.index = 0;
+    }
+
+    public IndexedBinaryTreeNode(E info) {
+        super(info);
+        this.tree = null;
+        this.index = 0;
+    }
+
+    public ArrayBinaryTree<E> getTree() {
+        return this.tree;
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    public boolean isAttached() {
+        return this.tree != null;
+    }
+
+    public BinaryTreeNode<E> getLeft() {
+        return this.tree != null ? this.tree.nodeAt(ArrayBinaryTree.leftIndex(this.index)) : null;
+    }
+
+    public void setLeft(BinaryTreeNode<E> left) {
+        if (this.tree != null) {
+            this.tree.setSon(this, left, true);
+        } else if (left != null) {
+            throw new UnsupportedOperationException("Node is not attached to an ArrayBinaryTree");
+        }
+
+    }
+
+    public BinaryTreeNode<E> getRight() {
+        return this.tree != null ? this.tree.nodeAt(ArrayBinaryTree.rightIndex(this.index)) : null;
+    }
+
+    public void setRight(BinaryTreeNode<E> right) {
+        if (this.tree != null) {
+            this.tree.setSon(this, right, false);
+        } else if (right != null) {
+            throw new UnsupportedOperationException("Node is not attached to an ArrayBinaryTree");
+        }
+
+    }
+
+    public int getHeight() {
+        return this.tree != null ? this.tree.heightAt(this.index) : 0;
+    }
+
+    public int getSize() {
+        return this.tree != null ? this.tree.sizeAt(this.index) : 1;
+    }
+
+    public int getLeafCount() {
+        return this.tree != null ? this.tree.leafCountAt(this.index) : 1;
+    }
+}
@@ -0,0 +1,90 @@
+package Tree;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+
+public class LinkedBinaryTreeNode<E> extends BinaryTreeNode<E> implements Serializable {
+    private static final long serialVersionUID = 1L;
+    protected LinkedBinaryTreeNode<E> father;
+    protected int depth;
+
+    public LinkedBinaryTreeNode() {
+        super();
+        this.father = null;
+        this.depth = 0;
+    }
+
+    public LinkedBinaryTreeNode(E info) {
+        super(info);
+        this.father = null;
+        this.depth = 0;
+    }
+
+    public LinkedBinaryTreeNode<E> getFather() {
+        return this.father;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public void setLeft(BinaryTreeNode<E> left) {
+        BinaryTreeNode<E> old = this.left;
+        this.left = left;
+        if (old != left) {
+            this.detach(old);
+            this.attach(left);
+        }
+    }
+
+    public void setRight(BinaryTreeNode<E> right) {
+        BinaryTreeNode<E> old = this.right;
+        this.right = right;
+        if (old != right) {
+            this.detach(old);
+            this.attach(right);
+        }
+    }
+
+    protected void attach(BinaryTreeNode<E> child) {
+        if (child instanceof LinkedBinaryTreeNode) {
+            LinkedBinaryTreeNode<E> linked = (LinkedBinaryTreeNode)child;
+            linked.father = this;
+            linked.propagateDepth(this.depth + 1);
+        }
+    }
+
+    protected void detach(BinaryTreeNode<E> child) {
+        if (child instanceof LinkedBinaryTreeNode) {
+            LinkedBinaryTreeNode<E> linked = (LinkedBinaryTreeNode)child;
+            if (linked.father == this) {
+                linked.father = null;
+                linked.propagateDepth(0);
+            }
+        }
+    }
+
+    private void propagateDepth(int newDepth) {
+        if (this.depth != newDepth) {
+            ArrayDeque<LinkedBinaryTreeNode<E>> pending = new ArrayDeque();
+            this.depth = newDepth;
+            pending.push(this);
+
+            while(!pending.isEmpty()) {
+                LinkedBinaryTreeNode<E> cursor = (LinkedBinaryTreeNode)pending.pop();
+                this.pushLinkedSon(pending, cursor, cursor.getLeft());
+                this.pushLinkedSon(pending, cursor, cursor.getRight());
+            }
+        }
+    }
+
+    private void pushLinkedSon(ArrayDeque<LinkedBinaryTreeNode<E>> pending, LinkedBinaryTreeNode<E> father, BinaryTreeNode<E> son) {
+        if (son instanceof LinkedBinaryTreeNode) {
+            LinkedBinaryTreeNode<E> linked = (LinkedBinaryTreeNode)son;
+            if (linked.father == father && linked.depth != father.depth + 1) {
+                linked.depth = father.depth + 1;
+                pending.push(linked);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package Tree;
+
+public class PosOrderCursor<E> extends TreeCursor<E> {
+    private static final int PENDING = 0;
+    private static final int LEFT_VISITED = 1;
+    private static final int RIGHT_VISITED = 2;
+    private BinaryTreeNode<E> nextNode;
+    private int nextDepth;
+
+    public PosOrderCursor(Tree<E> tree) {
+        super(tree);
+    }
+
+    protected void start(BinaryTreeNode<E> root) {
+        this.nextNode = null;
+        if (root != null) {
+            this.push(root, PENDING);
+        }
+
+        this.advance();
+    }
+
+    public boolean hasNext() {
+        return this.nextNode != null;
+    }
+
+    public BinaryTreeNode<E> nextNode() {
+        this.checkForComodification();
+        this.currentNode = this.nextNode;
+        this.currentDepth = this.nextDepth;
+        if (this.nextNode != null) {
+            this.advance();
+        }
+
+        return this.currentNode;
+    }
+
+    private void advance() {
+        this.nextNode = null;
+
+        while(this.top > 0 && this.nextNode == null) {
+            int index = this.top - 1;
+            BinaryTreeNode<E> cursor = this.stack[index];
+            if (this.state[index] == PENDING) {
+                this.state[index] = LEFT_VISITED;
+                if (cursor.getLeft() != null) {
+                    this.push(cursor.getLeft(), PENDING);
+                }
+            } else if (this.state[index] == LEFT_VISITED) {
+                this.state[index] = RIGHT_VISITED;
+                if (cursor.getRight() != null) {
+                    this.push(cursor.getRight(), PENDING);
+                }
+            } else {
+                this.nextDepth = index;
+                this.nextNode = this.pop();
+            }
+        }
+
+    }
+}
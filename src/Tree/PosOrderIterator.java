@@ -1,15 +1,18 @@
 package Tree;
 
 import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
 
 public class PosOrderIterator<E> implements ITreeIterator<E> {
     private StackNode<E> nextNode;
     private BinaryTreeNode<E> currentNode;
     private Tree<E> tree;
     private ArrayDeque<StackNode<E>> stack;
+    private int expectedModCount;
 
     public PosOrderIterator(Tree<E> tree) {
         this.tree = tree;
+        this.expectedModCount = tree.getModCount();
         this.stack = new ArrayDeque();
         this.currentNode = null;
         this.nextNode = null;
@@ -21,6 +24,10 @@ public class PosOrderIterator<E> implements ITreeIterator<E> {
     }
 
     public BinaryTreeNode<E> nextNode() {
+        if (this.tree.getModCount() != this.expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+
         this.currentNode = null;
         if (this.nextNode != null) {
             this.currentNode = this.nextNode.getNode();
@@ -61,7 +68,12 @@ public class PosOrderIterator<E> implements ITreeIterator<E> {
     }
 
     public void remove() {
-        this.tree.deleteNode(this.currentNode);
+        if (this.currentNode != null) {
+            this.tree.deleteNode(this.currentNode);
+            this.expectedModCount = this.tree.getModCount();
+            this.currentNode = null;
+        }
+
     }
 
     private BinaryTreeNode<E> moveCursorToLastLeftOrRightNode(BinaryTreeNode<E> initialNode) {
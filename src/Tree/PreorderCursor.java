@@ -0,0 +1,54 @@
+package Tree;
+
+public class PreorderCursor<E> extends TreeCursor<E> {
+    private BinaryTreeNode<E> nextNode;
+    private int nextDepth;
+
+    public PreorderCursor(Tree<E> tree) {
+        super(tree);
+    }
+
+    protected void start(BinaryTreeNode<E> root) {
+        this.nextNode = root;
+        this.nextDepth = 0;
+    }
+
+    public boolean hasNext() {
+        return this.nextNode != null;
+    }
+
+    public BinaryTreeNode<E> nextNode() {
+        this.checkForComodification();
+        this.currentNode = this.nextNode;
+        this.currentDepth = this.nextDepth;
+        if (this.nextNode != null) {
+            if (this.nextNode.getRight() != null) {
+                this.push(this.nextNode.getRight(), this.nextDepth + 1);
+            }
+
+            if (this.nextNode.getLeft() != null) {
+                this.nextNode = this.nextNode.getLeft();
+                ++this.nextDepth;
+            } else if (this.top > 0) {
+                this.nextDepth = this.state[this.top - 1];
+                this.nextNode = this.pop();
+            } else {
+                this.nextNode = null;
+            }
+        }
+
+        return this.currentNode;
+    }
+
+    protected void skipCurrentSubtree() {
+        while(this.nextNode != null && this.nextDepth > this.currentDepth) {
+            if (this.top > 0) {
+                this.nextDepth = this.state[this.top - 1];
+                this.nextNode = this.pop();
+            } else {
+                this.nextNode = null;
+            }
+        }
+
+    }
+}
@@ -1,16 +1,19 @@
 package Tree;
 
 import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
 
 public class PreorderIterator<E> implements ITreeIterator<E> {
     private BinaryTreeNode<E> nextNode;
     private BinaryTreeNode<E> currentNode = null;
     private Tree<E> tree;
     private ArrayDeque<StackNode<E>> stack = new ArrayDeque();
+    private int expectedModCount;
 
     public PreorderIterator(Tree<E> tree) {
         this.nextNode = (BinaryTreeNode)tree.getRoot();
         this.tree = tree;
+        this.expectedModCount = tree.getModCount();
     }
 
     public boolean hasNext() {
@@ -29,12 +32,38 @@ public class PreorderIterator<E> implements ITreeIterator<E> {
 
     public void remove() {
         if (this.currentNode != null) {
+            this.skipCurrentSubtree();
             this.tree.deleteNode(this.currentNode);
+            this.expectedModCount = this.tree.getModCount();
+            this.currentNode = null;
+        }
+
+    }
+
+    private void skipCurrentSubtree() {
+        if (!this.stack.isEmpty() && ((StackNode)this.stack.peek()).getNode() == this.currentNode) {
+            this.stack.pop();
+            this.nextNode = null;
+            boolean foundedNextNode = false;
+
+            while(!this.stack.isEmpty() && !foundedNextNode) {
+                StackNode<E> father = (StackNode)this.stack.pop();
+                if (father.getRight() != null && father.getCount() == 1) {
+                    foundedNextNode = true;
+                    this.nextNode = father.getRight();
+                    father.incrementCount();
+                    this.stack.push(father);
+                }
+            }
         }
 
     }
 
     public BinaryTreeNode<E> nextNode() {
+        if (this.tree.getModCount() != this.expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+
         BinaryTreeNode<E> returnNode = this.nextNode;
         this.currentNode = this.nextNode;
         if (this.nextNode != null) {
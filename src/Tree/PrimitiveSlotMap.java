@@ -0,0 +1,90 @@
+package Tree;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+public class PrimitiveSlotMap<K> implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final AVLTree<K, Integer> index;
+    private Object[] keys;
+    private int[] ints;
+    private float[] floats;
+    private int size;
+
+    public PrimitiveSlotMap(Comparator<? super K> comparator) {
+        this.index = new AVLTree(comparator);
+        this.keys = new Object[8];
+        this.ints = new int[8];
+        this.floats = new float[8];
+        this.size = 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int find(K key) {
+        Integer slot = key != null ? (Integer)this.index.get(key) : null;
+        return slot != null ? slot : -1;
+    }
+
+    public int handle(K key) {
+        int slot = this.find(key);
+        if (slot < 0 && key != null) {
+            if (this.size == this.keys.length) {
+                this.grow();
+            }
+
+            slot = this.size++;
+            this.keys[slot] = key;
+            this.ints[slot] = 0;
+            this.floats[slot] = 0.0F;
+            this.index.put(key, slot);
+        }
+
+        return slot;
+    }
+
+    public K keyAt(int slot) {
+        return (K)this.keys[slot];
+    }
+
+    public int getInt(int slot) {
+        return this.ints[slot];
+    }
+
+    public int getInt(K key, int defaultValue) {
+        int slot = this.find(key);
+        return slot >= 0 ? this.ints[slot] : defaultValue;
+    }
+
+    public void setInt(int slot, int value) {
+        this.ints[slot] = value;
+    }
+
+    public int addInt(int slot, int delta) {
+        this.ints[slot] += delta;
+        return this.ints[slot];
+    }
+
+    public float getFloat(int slot) {
+        return this.floats[slot];
+    }
+
+    public void setFloat(int slot, float value) {
+        this.floats[slot] = value;
+    }
+
+    private void grow() {
+        int capacity = this.keys.length * 2;
+        Object[] newKeys = new Object[capacity];
+        int[] newInts = new int[capacity];
+        float[] newFloats = new float[capacity];
+        System.arraycopy(this.keys, 0, newKeys, 0, this.size);
+        System.arraycopy(this.ints, 0, newInts, 0, this.size);
+        System.arraycopy(this.floats, 0, newFloats, 0, this.size);
+        this.keys = newKeys;
+        this.ints = newInts;
+        this.floats = newFloats;
+    }
+}
@@ -0,0 +1,44 @@
+package Tree;
+
+public class SymmetricCursor<E> extends TreeCursor<E> {
+    public SymmetricCursor(Tree<E> tree) {
+        super(tree);
+    }
+
+    protected void start(BinaryTreeNode<E> root) {
+        this.pushLeftBranch(root, 0);
+    }
+
+    public boolean hasNext() {
+        return this.top > 0;
+    }
+
+    public BinaryTreeNode<E> nextNode() {
+        this.checkForComodification();
+        this.currentNode = null;
+        if (this.top > 0) {
+            this.currentDepth = this.state[this.top - 1];
+            this.currentNode = this.pop();
+            this.pushLeftBranch(this.currentNode.getRight(), this.currentDepth + 1);
+        }
+
+        return this.currentNode;
+    }
+
+    protected void skipCurrentSubtree() {
+        while(this.top > 0 && this.state[this.top - 1] > this.currentDepth) {
+            this.pop();
+        }
+
+    }
+
+    private void pushLeftBranch(BinaryTreeNode<E> initialNode, int depth) {
+        BinaryTreeNode<E> cursor = initialNode;
+
+        for(int cursorDepth = depth; cursor != null; ++cursorDepth) {
+            this.push(cursor, cursorDepth);
+            cursor = cursor.getLeft();
+        }
+
+    }
+}
@@ -1,15 +1,18 @@
 package Tree;
 
 import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
 
 public class SymmetricIterator<E> implements ITreeIterator<E> {
     private BinaryTreeNode<E> nextNode;
     private BinaryTreeNode<E> currentNode;
     private Tree<E> tree;
     private ArrayDeque<StackNode<E>> stack;
+    private int expectedModCount;
 
     public SymmetricIterator(Tree<E> tree) {
         this.tree = tree;
+        this.expectedModCount = tree.getModCount();
         this.stack = new ArrayDeque();
         this.currentNode = null;
         this.nextNode = this.moveCursorToLastLeftNode((BinaryTreeNode)tree.getRoot());
@@ -17,6 +20,10 @@ public class SymmetricIterator<E> implements ITreeIterator<E> {
     }
 
     public BinaryTreeNode<E> nextNode() {
+        if (this.tree.getModCount() != this.expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+
         this.currentNode = this.nextNode;
         if (this.currentNode != null) {
             if (this.currentNode.getRight() != null) {
@@ -59,7 +66,37 @@ public class SymmetricIterator<E> implements ITreeIterator<E> {
     }
 
     public void remove() {
-        this.tree.deleteNode(this.currentNode);
+        if (this.currentNode != null) {
+            this.skipCurrentSubtree();
+            this.tree.deleteNode(this.currentNode);
+            this.expectedModCount = this.tree.getModCount();
+            this.currentNode = null;
+        }
+
+    }
+
+    private void skipCurrentSubtree() {
+        if (this.currentNode.getRight() != null) {
+            boolean foundedCurrent = false;
+
+            while(!this.stack.isEmpty() && !foundedCurrent) {
+                if (((StackNode)this.stack.pop()).getNode() == this.currentNode) {
+                    foundedCurrent = true;
+                }
+            }
+
+            this.nextNode = null;
+            boolean foundedNextNode = false;
+
+            while(!this.stack.isEmpty() && !foundedNextNode) {
+                StackNode<E> father = (StackNode)this.stack.pop();
+                if (father.getCount() == 1) {
+                    foundedNextNode = true;
+                    this.nextNode = father.getNode();
+                }
+            }
+        }
+
     }
 
     private BinaryTreeNode<E> moveCursorToLastLeftNode(BinaryTreeNode<E> initialNode) {
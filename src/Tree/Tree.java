@@ -1,9 +1,16 @@
 package Tree;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public abstract class Tree<E> {
     protected TreeNode<E> root;
+    protected transient int modCount;
+    private transient ArrayList<WeakReference<TreeSnapshot>> snapshots;
 
     public Tree() {
         this.root = null;
@@ -18,13 +25,67 @@ public abstract class Tree<E> {
     }
 
     public void setRoot(TreeNode<E> root) {
+        this.modifying();
         this.root = root;
     }
 
+    public int getModCount() {
+        return this.modCount;
+    }
+
+    protected void modifying() {
+        if (this.snapshots != null && !this.snapshots.isEmpty()) {
+            ArrayList<WeakReference<TreeSnapshot>> pending = this.snapshots;
+            this.snapshots = null;
+
+            for(WeakReference<TreeSnapshot> reference : pending) {
+                TreeSnapshot snapshot = (TreeSnapshot)reference.get();
+                if (snapshot != null) {
+                    snapshot.freeze();
+                }
+            }
+        }
+
+        ++this.modCount;
+    }
+
+    void registerSnapshot(TreeSnapshot snapshot) {
+        if (this.snapshots == null) {
+            this.snapshots = new ArrayList();
+        }
+
+        this.snapshots.removeIf((reference) -> reference.get() == null || ((TreeSnapshot)reference.get()).isFrozen());
+        this.snapshots.add(new WeakReference(snapshot));
+    }
+
+    public TreeSnapshotIterator<E> snapshotIterator() {
+        return new TreeSnapshotIterator(this, new PreorderCursor(this));
+    }
+
     public boolean isEmpty() {
         return this.root == null;
     }
 
+    public Spliterator<BinaryTreeNode<E>> spliterator() {
+        return new TreeNodeSpliterator(this);
+    }
+
+    public Stream<BinaryTreeNode<E>> nodeStream() {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    public Stream<BinaryTreeNode<E>> parallelNodeStream() {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
+    public Stream<E> stream() {
+        return this.nodeStream().map((node) -> node.getInfo());
+    }
+
+    public Stream<E> parallelStream() {
+        return this.parallelNodeStream().map((node) -> node.getInfo());
+    }
+
     public abstract int totalNodes();
 
     public abstract List<TreeNode<E>> getLeaves();
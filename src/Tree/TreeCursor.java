@@ -0,0 +1,108 @@
+package Tree;
+
+import java.util.ConcurrentModificationException;
+
+public abstract class TreeCursor<E> implements ITreeIterator<E> {
+    protected Tree<E> tree;
+    protected BinaryTreeNode<E>[] stack;
+    protected int[] state;
+    protected int top;
+    protected BinaryTreeNode<E> currentNode;
+    protected int currentDepth;
+    protected int expectedModCount;
+
+    public TreeCursor(Tree<E> tree) {
+        this.stack = (BinaryTreeNode[])(new BinaryTreeNode[16]);
+        this.state = new int[16];
+        this.top = 0;
+        this.reset(tree);
+    }
+
+    public TreeCursor<E> reset(Tree<E> tree) {
+        this.clearStack();
+        this.tree = tree;
+        this.expectedModCount = tree != null ? tree.getModCount() : 0;
+        this.currentNode = null;
+        this.currentDepth = -1;
+        this.start(tree != null ? (BinaryTreeNode)tree.getRoot() : null);
+        return this;
+    }
+
+    public TreeCursor<E> reset() {
+        return this.reset(this.tree);
+    }
+
+    protected abstract void start(BinaryTreeNode<E> root);
+
+    public E next() {
+        E currentInfo = null;
+        BinaryTreeNode<E> current = this.nextNode();
+        if (current != null) {
+            currentInfo = (E)current.getInfo();
+        }
+
+        return currentInfo;
+    }
+
+    public void remove() {
+        if (this.currentNode != null) {
+            this.skipCurrentSubtree();
+            this.tree.deleteNode(this.currentNode);
+            this.expectedModCount = this.tree.getModCount();
+            this.currentNode = null;
+        }
+
+    }
+
+    protected void skipCurrentSubtree() {
+    }
+
+    protected void checkForComodification() {
+        if (this.tree != null && this.tree.getModCount() != this.expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    public BinaryTreeNode<E> getCurrentNode() {
+        return this.currentNode;
+    }
+
+    public int getCurrentDepth() {
+        return this.currentDepth;
+    }
+
+    protected void push(BinaryTreeNode<E> node, int value) {
+        if (this.top == this.stack.length) {
+            this.grow();
+        }
+
+        this.stack[this.top] = node;
+        this.state[this.top] = value;
+        ++this.top;
+    }
+
+    protected BinaryTreeNode<E> pop() {
+        --this.top;
+        BinaryTreeNode<E> node = this.stack[this.top];
+        this.stack[this.top] = null;
+        return node;
+    }
+
+    protected void grow() {
+        int capacity = this.stack.length * 2;
+        BinaryTreeNode<E>[] newStack = (BinaryTreeNode[])(new BinaryTreeNode[capacity]);
+        int[] newState = new int[capacity];
+        System.arraycopy(this.stack, 0, newStack, 0, this.stack.length);
+        System.arraycopy(this.state, 0, newState, 0, this.state.length);
+        this.stack = newStack;
+        this.state = newState;
+    }
+
+    private void clearStack() {
+        while(this.top > 0) {
+            --this.top;
+            this.stack[this.top] = null;
+        }
+
+    }
+}
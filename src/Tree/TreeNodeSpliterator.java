@@ -0,0 +1,129 @@
+package Tree;
+
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+public class TreeNodeSpliterator<E> implements Spliterator<BinaryTreeNode<E>> {
+    private final Tree<E> tree;
+    private final int expectedModCount;
+    private BinaryTreeNode<E> single;
+    private ArrayDeque<BinaryTreeNode<E>> subtrees;
+    private long estimate;
+    private boolean exact;
+
+    public TreeNodeSpliterator(Tree<E> tree) {
+        this.tree = tree;
+        this.expectedModCount = tree != null ? tree.getModCount() : 0;
+        this.single = null;
+        this.subtrees = new ArrayDeque();
+        BinaryTreeNode<E> root = tree != null ? (BinaryTreeNode)tree.getRoot() : null;
+        if (root != null) {
+            this.subtrees.add(root);
+        }
+
+        this.exact = root == null || root instanceof IAugmentedNode;
+        this.estimate = this.exact ? (long)AugmentedBinaryTreeNode.sizeOf(root) : (long)tree.totalNodes();
+    }
+
+    private TreeNodeSpliterator(Tree<E> tree, int expectedModCount, BinaryTreeNode<E> single, ArrayDeque<BinaryTreeNode<E>> subtrees, long estimate, boolean exact) {
+        this.tree = tree;
+        this.expectedModCount = expectedModCount;
+        this.single = single;
+        this.subtrees = subtrees;
+        this.estimate = estimate;
+        this.exact = exact;
+    }
+
+    public boolean tryAdvance(Consumer<? super BinaryTreeNode<E>> action) {
+        if (this.tree != null && this.tree.getModCount() != this.expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+
+        boolean advanced = false;
+        if (this.single != null) {
+            BinaryTreeNode<E> node = this.single;
+            this.single = null;
+            --this.estimate;
+            action.accept(node);
+            advanced = true;
+        } else if (!this.subtrees.isEmpty()) {
+            BinaryTreeNode<E> node = (BinaryTreeNode)this.subtrees.pollFirst();
+            if (node.getRight() != null) {
+                this.subtrees.addFirst(node.getRight());
+            }
+
+            if (node.getLeft() != null) {
+                this.subtrees.addFirst(node.getLeft());
+            }
+
+            --this.estimate;
+            action.accept(node);
+            advanced = true;
+        }
+
+        return advanced;
+    }
+
+    public Spliterator<BinaryTreeNode<E>> trySplit() {
+        TreeNodeSpliterator<E> prefix = null;
+        if (this.single == null && this.subtrees.size() == 1) {
+            BinaryTreeNode<E> node = (BinaryTreeNode)this.subtrees.pollFirst();
+            this.single = node;
+            if (node.getRight() != null) {
+                this.subtrees.addFirst(node.getRight());
+            }
+
+            if (node.getLeft() != null) {
+                this.subtrees.addFirst(node.getLeft());
+            }
+        }
+
+        int half = this.subtrees.size() / 2;
+        if (this.single != null && this.subtrees.size() == 1 || half > 0) {
+            ArrayDeque<BinaryTreeNode<E>> prefixSubtrees = new ArrayDeque(Math.max(half, 1));
+
+            for(int i = 0; i < half; ++i) {
+                prefixSubtrees.addLast((BinaryTreeNode)this.subtrees.pollFirst());
+            }
+
+            long prefixEstimate;
+            if (this.exact) {
+                prefixEstimate = this.sizeOf(this.single, prefixSubtrees);
+                this.estimate = this.sizeOf((BinaryTreeNode)null, this.subtrees);
+            } else {
+                prefixEstimate = this.estimate / 2L;
+                this.estimate -= prefixEstimate;
+            }
+
+            prefix = new TreeNodeSpliterator(this.tree, this.expectedModCount, this.single, prefixSubtrees, prefixEstimate, this.exact);
+            this.single = null;
+        }
+
+        return prefix;
+    }
+
+    private long sizeOf(BinaryTreeNode<E> single, ArrayDeque<BinaryTreeNode<E>> subtrees) {
+        long size = single != null ? 1L : 0L;
+
+        for(BinaryTreeNode<E> node : subtrees) {
+            size += (long)AugmentedBinaryTreeNode.sizeOf(node);
+        }
+
+        return size;
+    }
+
+    public long estimateSize() {
+        return this.estimate;
+    }
+
+    public int characteristics() {
+        int characteristics = Spliterator.ORDERED | Spliterator.NONNULL;
+        if (this.exact) {
+            characteristics |= Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+
+        return characteristics;
+    }
+}
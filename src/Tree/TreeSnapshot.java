@@ -0,0 +1,7 @@
+package Tree;
+
+public interface TreeSnapshot {
+    boolean isFrozen();
+
+    void freeze();
+}
@@ -0,0 +1,93 @@
+package Tree;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+
+public class TreeSnapshotIterator<E> implements ITreeIterator<E>, TreeSnapshot {
+    private Tree<E> tree;
+    private TreeCursor<E> live;
+    private ArrayList<BinaryTreeNode<E>> frozen;
+    private int frozenIndex;
+    private int epoch;
+    private BinaryTreeNode<E> currentNode;
+
+    public TreeSnapshotIterator(Tree<E> tree, TreeCursor<E> live) {
+        this.tree = tree;
+        this.live = live;
+        this.frozen = null;
+        this.frozenIndex = 0;
+        this.epoch = tree.getModCount();
+        this.currentNode = null;
+        tree.registerSnapshot(this);
+    }
+
+    public int getEpoch() {
+        return this.epoch;
+    }
+
+    public boolean isFrozen() {
+        return this.frozen != null;
+    }
+
+    public void freeze() {
+        if (this.frozen == null) {
+            this.frozen = new ArrayList();
+            if (this.epoch == this.tree.getModCount()) {
+                while(this.live.hasNext()) {
+                    this.frozen.add(this.live.nextNode());
+                }
+            }
+
+            this.live = null;
+        }
+
+    }
+
+    public boolean hasNext() {
+        boolean hasNext;
+        if (this.frozen != null) {
+            hasNext = this.frozenIndex < this.frozen.size();
+        } else {
+            hasNext = this.live.hasNext();
+        }
+
+        return hasNext;
+    }
+
+    public BinaryTreeNode<E> nextNode() {
+        this.currentNode = null;
+        if (this.frozen != null) {
+            if (this.frozenIndex < this.frozen.size()) {
+                this.currentNode = (BinaryTreeNode)this.frozen.get(this.frozenIndex);
+                this.frozen.set(this.frozenIndex, (BinaryTreeNode)null);
+                ++this.frozenIndex;
+            }
+        } else {
+            if (this.epoch != this.tree.getModCount()) {
+                throw new ConcurrentModificationException("Tree modified without notifying its snapshot");
+            }
+
+            this.currentNode = this.live.nextNode();
+        }
+
+        return this.currentNode;
+    }
+
+    public E next() {
+        E currentInfo = null;
+        BinaryTreeNode<E> current = this.nextNode();
+        if (current != null) {
+            currentInfo = (E)current.getInfo();
+        }
+
+        return currentInfo;
+    }
+
+    public void remove() {
+        if (this.currentNode != null) {
+            this.tree.deleteNode(this.currentNode);
+            this.currentNode = null;
+        }
+
+    }
+}
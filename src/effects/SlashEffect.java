@@ -1,7 +1,6 @@
 package effects;
 
 import Tree.BinaryTreeNode;
-import entities.Enemy;
 import entities.Player;
 import game.GameController;
 import map.MineRoom;
@@ -11,7 +10,6 @@ import utils.ResourceManager;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.awt.geom.AffineTransform;
-import java.util.List;
 
 public class SlashEffect extends Projectile implements Effect {
     private final float originX, originY;
@@ -63,28 +61,16 @@ public class SlashEffect extends Projectile implements Effect {
     private void applySlashDamage() {
         if (roomNode == null) return;
 
-        List<Enemy> enemies = controller.enemyManager.getEnemiesAt(roomNode);
-        float coneCos = (float) Math.cos(angle * 0.5f);
-
-        for (Enemy e : enemies) {
-            if (!e.isAlive()) continue;
-
+        controller.enemyManager.forEachInCone(roomNode, originX, originY, dirX, dirY, range, angle, e -> {
             float dx = e.getX() - originX;
             float dy = e.getY() - originY;
-            float d2 = dx * dx + dy * dy;
-
-            if (d2 > range * range) continue;
-
-            float d = (float) Math.sqrt(d2);
+            float d = (float) Math.sqrt(dx * dx + dy * dy);
             float nx = dx / (d + 1e-6f);
             float ny = dy / (d + 1e-6f);
-            float dot = nx * dirX + ny * dirY;
 
-            if (dot >= coneCos) {
-                e.damage(damage, controller);
-                e.applyKnockback(nx * 60f, ny * 60f);
-            }
-        }
+            e.damage(damage, controller);
+            e.applyKnockback(nx * 60f, ny * 60f);
+        });
     }
 
     @Override
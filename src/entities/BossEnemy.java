@@ -7,17 +7,13 @@ public class BossEnemy extends Enemy {
     private final float radiusVisual;
     private final float roarCooldown = 3.0f;
     private float roarTimer = 0f;
+    private final float[] pursuit = new float[2];
 
     public BossEnemy(BinaryTreeNode<MineRoom> node, float startX, float startY, int baseHp, float baseSpeed, int level) {
         super(node, startX, startY, baseHp, baseSpeed, level);
-        this.hp = Math.max(this.hp, baseHp + (level - 1) * 40 + 800);
+        setHp(Math.max(getHp(), baseHp + (level - 1) * 40 + 800));
         this.knockbackResistance = Math.min(0.98f, 0.6f + 0.05f * level);
-        try {
-            java.lang.reflect.Field f = Enemy.class.getDeclaredField("contactDamage");
-            f.setAccessible(true);
-            f.setInt(this, Math.max(20, this.contactDamage + level * 8));
-        } catch (Exception ex) {
-        }
+        setContactDamage(Math.max(20, getContactDamage() + level * 8));
         this.radiusVisual = 28f + level * 6f;
 
     }
@@ -33,10 +29,10 @@ public class BossEnemy extends Enemy {
         }
 
         roarTimer -= dt;
-        float pursuitSpeed = Math.max(12f, this.speed * 0.6f);
+        float pursuitSpeed = Math.max(12f, getSpeed() * 0.6f);
 
         if (roarTimer <= 0f) {
-            float burst = 1.8f + (this.level * 0.05f);
+            float burst = 1.8f + (getLevel() * 0.05f);
             float dx = player.x - this.getX();
             float dy = player.y - this.getY();
             float d2 = dx * dx + dy * dy;
@@ -54,20 +50,15 @@ public class BossEnemy extends Enemy {
             return;
         }
 
-        float dx = player.x - getX();
-        float dy = player.y - getY();
-        float dist2 = dx * dx + dy * dy;
-        if (dist2 > 0.0001f) {
-            float dist = (float) Math.sqrt(dist2);
-            float nx = dx / dist;
-            float ny = dy / dist;
-            translate((nx * pursuitSpeed + vx) * dt, (ny * pursuitSpeed + vy) * dt);
+        if (pursuitDirection(player, pursuit)) {
+            float nx = pursuit[0];
+            float ny = pursuit[1];
+            translate((nx * pursuitSpeed + getVx()) * dt, (ny * pursuitSpeed + getVy()) * dt);
         } else {
-            translate(vx * dt, vy * dt);
+            translate(getVx() * dt, getVy() * dt);
         }
 
-        vx *= Math.max(0f, 1f - 4f * dt);
-        vy *= Math.max(0f, 1f - 4f * dt);
+        dampVelocity(Math.max(0f, 1f - 4f * dt));
 
         clampIfNearRoom(room);
     }
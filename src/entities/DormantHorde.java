@@ -0,0 +1,38 @@
+package entities;
+
+import java.util.Arrays;
+
+// Enemigos comunes de una sala en la que no esta el jugador, guardados como columnas de primitivos.
+// Al volver a entrar se rehidratan con objetos del pool, asi las salas visitadas no retienen Enemy vivos.
+public class DormantHorde {
+    int[] level = new int[8];
+    int[] hp = new int[8];
+    int[] maxHp = new int[8];
+    float[] x = new float[8];
+    float[] y = new float[8];
+    float[] speed = new float[8];
+    int size = 0;
+
+    public int size() {
+        return size;
+    }
+
+    void pack(Enemy e) {
+        if (size == x.length) {
+            int capacity = size * 2;
+            level = Arrays.copyOf(level, capacity);
+            hp = Arrays.copyOf(hp, capacity);
+            maxHp = Arrays.copyOf(maxHp, capacity);
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            speed = Arrays.copyOf(speed, capacity);
+        }
+        level[size] = e.getLevel();
+        hp[size] = e.getHp();
+        maxHp[size] = e.getMaxHp();
+        x[size] = e.getX();
+        y[size] = e.getY();
+        speed[size] = e.getSpeed();
+        size++;
+    }
+}
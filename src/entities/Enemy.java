@@ -4,46 +4,72 @@ import Tree.BinaryTreeNode;
 import game.GameController;
 import map.Crystal;
 import map.MineRoom;
+import utils.Pooled;
+import utils.RngService;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
-public class Enemy {
-    private final BinaryTreeNode<MineRoom> node;
-    private float x, y;
-    protected float vx = 0f;
-    protected float vy = 0f;
-    protected float speed;
-    protected int hp;
+public class Enemy extends Pooled {
+    private BinaryTreeNode<MineRoom> node;
     protected int maxHp;
-    private final int id;
-    private boolean alive = true;
+    private int id;
     private static int NEXT_ID = 1;
-    private final Random rnd = new Random();
-    public final int level;
-    public final int contactDamage;
+    // el estado mutable vive en columnas de un EnemyStore, este objeto es solo el indice
+    EnemyStore store;
+    int slot;
+    // store propio de un slot, donde vive mientras no pertenece a una sala
+    final EnemyStore home = new EnemyStore(1);
+    // lista de su sala, la mantiene EnemyManager
+    EnemyManager.EnemyListBinding binding;
+    boolean pendingRemoval = false;
+    private int contactDamage;
     protected float knockbackResistance;
 
-    private boolean facingLeft = true;
-    private int animTick = 0;
-
     public Enemy(BinaryTreeNode<MineRoom> node, float startX, float startY, int baseHp, float baseSpeed, int level) {
+        init(node, startX, startY, baseHp, baseSpeed, level);
+    }
+
+    // solo para el pool de EnemyManager, que llama a init antes de usarlo
+    Enemy() {
+    }
+
+    void init(BinaryTreeNode<MineRoom> node, float startX, float startY, int baseHp, float baseSpeed, int level) {
         this.node = node;
-        this.x = startX;
-        this.y = startY;
-        this.level = Math.max(1, level);
-        this.maxHp = Math.max(1, baseHp + (this.level - 1) * 12);
-        this.hp = maxHp;
-        this.speed = baseSpeed + 20 + (this.level - 1) * 6f;
-        this.contactDamage = 6 + (this.level - 1) * 4;
-        this.knockbackResistance = Math.min(0.9f, 0.2f + 0.15f * (this.level - 1));
+        this.store = home;
+        this.slot = 0;
+        this.binding = null;
+        this.pendingRemoval = false;
+        home.handles[0] = this;
+        home.size = 1;
+        int lvl = Math.max(1, level);
+        home.x[0] = startX;
+        home.y[0] = startY;
+        home.vx[0] = 0f;
+        home.vy[0] = 0f;
+        home.level[0] = lvl;
+        this.maxHp = Math.max(1, baseHp + (lvl - 1) * 12);
+        home.hp[0] = maxHp;
+        home.speed[0] = baseSpeed + 20 + (lvl - 1) * 6f;
+        home.animTick[0] = 0;
+        home.alive[0] = true;
+        home.facingLeft[0] = true;
+        this.contactDamage = 6 + (lvl - 1) * 4;
+        this.knockbackResistance = Math.min(0.9f, 0.2f + 0.15f * (lvl - 1));
         this.id = NEXT_ID++;
     }
 
+    // vuelve al estado que guardo DormantHorde
+    void restore(int hp, int maxHp, float speed) {
+        this.maxHp = maxHp;
+        store.hp[slot] = hp;
+        store.speed[slot] = speed;
+    }
+
     public BinaryTreeNode<MineRoom> getNode() {
         return node;
     }
     public int getHp() {
-        return hp;
+        return store.hp[slot];
     }
     public int getMaxHp() {
         return maxHp;
@@ -52,31 +78,53 @@ public class Enemy {
         return id;
     }
     public boolean isAlive() {
-        return alive && hp > 0;
+        return store.alive[slot] && store.hp[slot] > 0;
     }
     public float getX() {
-        return x;
+        return store.x[slot];
     }
     public float getY() {
-        return y;
+        return store.y[slot];
     }
     public int getLevel() {
-        return level;
+        return store.level[slot];
+    }
+    public int getContactDamage() {
+        return contactDamage;
+    }
+    protected void setContactDamage(int contactDamage) {
+        this.contactDamage = contactDamage;
+    }
+    public float getSpeed() {
+        return store.speed[slot];
+    }
+    public float getVx() {
+        return store.vx[slot];
+    }
+    public float getVy() {
+        return store.vy[slot];
+    }
+    protected void dampVelocity(float factor) {
+        store.vx[slot] *= factor;
+        store.vy[slot] *= factor;
     }
     public boolean isFacingLeft() {
-        return facingLeft;
+        return store.facingLeft[slot];
     }
     public int getAnimTick() {
-        return animTick;
+        return store.animTick[slot];
     }
 
     public void damage(int d, GameController controller) {
         if (!isAlive()) {
             return;
         }
-        hp -= d;
-        if (hp <= 0) {
-            alive = false;
+        store.hp[slot] -= d;
+        if (store.hp[slot] <= 0) {
+            store.alive[slot] = false;
+            if (binding != null) {
+                binding.onDeath(this);
+            }
             die(controller);
         }
     }
@@ -84,11 +132,12 @@ public class Enemy {
     private void die(GameController controller) {
         MineRoom room = node.getInfo();
         if (room != null) {
-            int drops = 1 + rnd.nextInt(3);
+            SplittableRandom rng = controller.getRng().stream(RngService.Stream.DROP);
+            int drops = 1 + rng.nextInt(3);
             for (int i = 0; i < drops; i++) {
-                float ox = (rnd.nextFloat() - 0.5f) * 40f;
-                float oy = (rnd.nextFloat() - 0.5f) * 40f;
-                Crystal c = new Crystal(clampX(room, x + ox), clampY(room, y + oy), 1);
+                float ox = (rng.nextFloat() - 0.5f) * 40f;
+                float oy = (rng.nextFloat() - 0.5f) * 40f;
+                Crystal c = controller.enemyManager.obtainCrystal(clampX(room, getX() + ox), clampY(room, getY() + oy), 1, rng.nextInt(Crystal.VARIANTS));
                 room.drops.add(c);
             }
         }
@@ -96,64 +145,58 @@ public class Enemy {
     }
 
     public void applyKnockback(float impulseX, float impulseY) {
-        vx += impulseX * (1f - knockbackResistance);
-        vy += impulseY * (1f - knockbackResistance);
+        store.vx[slot] += impulseX * (1f - knockbackResistance);
+        store.vy[slot] += impulseY * (1f - knockbackResistance);
     }
 
     public void applyVelocity(float ax, float ay) {
-        vx += ax;
-        vy += ay;
+        store.vx[slot] += ax;
+        store.vy[slot] += ay;
     }
 
     public void translate(float dx, float dy) {
-        x += dx;
-        y += dy;
+        store.x[slot] += dx;
+        store.y[slot] += dy;
+    }
+
+    public void setPosition(float x, float y) {
+        store.x[slot] = x;
+        store.y[slot] = y;
     }
 
+    // mismo paso que el kernel de EnemyStore, para jefes y enemigos sueltos
     public void update(float dt, Player player, MineRoom room) {
-        if (!isAlive()) {
-            x += vx * dt;
-            y += vy * dt;
-            vx *= Math.max(0f, 1f - 6f * dt);
-            vy *= Math.max(0f, 1f - 6f * dt);
-            return;
-        }
-        if (room == null) {
-            return;
-        }
+        store.step(slot, dt, Math.max(0f, 1f - 6f * dt), player.x, player.y, room, flowField());
+    }
 
-        float dx = player.x - x;
-        float dy = player.y - y;
-        float dist2 = dx * dx + dy * dy;
-        if (dist2 > 0.0001f) {
-            float dist = (float) Math.sqrt(dist2);
-            float nx = dx / dist;
-            float ny = dy / dist;
-            x += (nx * speed + vx) * dt;
-            y += (ny * speed + vy) * dt;
-
-            if (nx < 0) {
-                facingLeft = true;
-            }
-            else {
-                facingLeft = false;
-            }
+    // direccion de persecucion: la del campo de flujo de la sala o, junto al jugador, el vector exacto
+    protected boolean pursuitDirection(Player player, float[] out) {
+        FlowField field = flowField();
+        int cell = field != null ? field.cellOf(getX(), getY()) : -1;
+        if (cell >= 0 && !field.isNearPlayer(cell)) {
+            out[0] = field.dirX[cell];
+            out[1] = field.dirY[cell];
+            return out[0] != 0f || out[1] != 0f;
         }
-        else {
-            x += vx * dt;
-            y += vy * dt;
+        float dx = player.x - getX();
+        float dy = player.y - getY();
+        float dist2 = dx * dx + dy * dy;
+        if (dist2 <= 0.0001f) {
+            return false;
         }
+        float dist = (float) Math.sqrt(dist2);
+        out[0] = dx / dist;
+        out[1] = dy / dist;
+        return true;
+    }
 
-        vx *= Math.max(0f, 1f - 6f * dt);
-        vy *= Math.max(0f, 1f - 6f * dt);
-
-        clampIfNearRoom(room);
-        animTick++;
+    private FlowField flowField() {
+        return binding != null ? binding.field : null;
     }
 
     public boolean intersectsPlayer(Player p) {
-        float dx = p.x - x;
-        float dy = p.y - y;
+        float dx = p.x - getX();
+        float dy = p.y - getY();
         float r = 14f;
         boolean resultado;
         if (dx * dx + dy * dy <= r * r) {
@@ -166,19 +209,7 @@ public class Enemy {
     }
 
     protected void clampIfNearRoom(MineRoom r) {
-        float half = 8f;
-        if (x < half) {
-            x = half;
-        }
-        if (x > r.width - half) {
-            x = r.width - half;
-        }
-        if (y < half) {
-            y = half;
-        }
-        if (y > r.height - half) {
-            y = r.height - half;
-        }
+        store.clamp(slot, r);
     }
 
     private float clampX(MineRoom r, float vx) {
@@ -204,6 +235,6 @@ public class Enemy {
     }
 
     public void setHp(int hp) {
-        this.hp = hp;
+        store.hp[slot] = hp;
     }
 }
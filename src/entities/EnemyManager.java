@@ -2,112 +2,180 @@ package entities;
 
 import Tree.BinaryTree;
 import Tree.BinaryTreeNode;
-import Tree.PreorderIterator;
+import map.Crystal;
+import map.Key;
 import map.MineRoom;
+import utils.ObjectPool;
 
+import java.awt.*;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 public class EnemyManager {
+    // algo mayor que el radio de los ataques cuerpo a cuerpo
+    public static final float GRID_CELL_SIZE = 48f;
+
     public static class EnemyListBinding {
         public BinaryTreeNode<MineRoom> roomNode;
         public final List<Enemy> enemies = new ArrayList<>();
+        // vista de solo lectura, se reutiliza en cada consulta
+        final List<Enemy> view = Collections.unmodifiableList(enemies);
+        // vivos y jefes vivos: los mantienen add/remove y Enemy.damage al morir
+        int aliveCount = 0;
+        int bossCount = 0;
+        EnemyManager owner;
+        final SpatialHashGrid grid = new SpatialHashGrid(GRID_CELL_SIZE);
+        // columnas alineadas con enemies: el slot del enemigo es su indice en la lista
+        final EnemyStore store = new EnemyStore(16);
+        // direcciones hacia el jugador, se reconstruye solo cuando el jugador cambia de celda
+        final FlowField field = new FlowField();
 
         public EnemyListBinding(BinaryTreeNode<MineRoom> roomNode) {
             this.roomNode = roomNode;
         }
-    }
 
-    private final BinaryTree<EnemyListBinding> bindingsTree = new BinaryTree<EnemyListBinding>();
-    private final Random rnd = new Random();
-
-    public EnemyManager(BinaryTree<MineRoom> map) {
-    }
+        void add(Enemy e) {
+            e.binding = this;
+            enemies.add(e);
+            store.attach(e);
+            grid.insert(e);
+            if (e.isAlive()) {
+                countAlive(e, 1);
+            }
+        }
 
-    private EnemyListBinding findBinding(BinaryTreeNode<MineRoom> node) {
-        if (node == null || bindingsTree.getRoot() == null) {
-            return null;
-        }
-        PreorderIterator<EnemyListBinding> it = bindingsTree.preOrderIterator();
-        while (it.hasNext()) {
-            BinaryTreeNode<EnemyListBinding> bnode = it.nextNode();
-            EnemyListBinding b = bnode.getInfo();
-            if (b != null && b.roomNode != null && b.roomNode.equals(node)) {
-                return b;
+        // quita por intercambio con el ultimo, el orden no importa
+        void remove(Enemy e) {
+            if (e.isAlive()) {
+                countAlive(e, -1);
             }
+            int slot = e.slot;
+            int last = enemies.size() - 1;
+            enemies.set(slot, enemies.get(last));
+            enemies.remove(last);
+            store.detach(slot);
+            e.binding = null;
         }
-        return null;
-    }
 
-    private BinaryTreeNode<EnemyListBinding> findBindingNode(BinaryTreeNode<MineRoom> node) {
-        if (node == null || bindingsTree.getRoot() == null) {
-            return null;
+        void onDeath(Enemy e) {
+            countAlive(e, -1);
+            if (owner != null) {
+                owner.publishDeath(this, e);
+            }
         }
-        PreorderIterator<EnemyListBinding> it = bindingsTree.preOrderIterator();
-        while (it.hasNext()) {
-            BinaryTreeNode<EnemyListBinding> bnode = it.nextNode();
-            EnemyListBinding b = bnode.getInfo();
-            if (b != null && b.roomNode != null && b.roomNode.equals(node)) {
-                return bnode;
+
+        private void countAlive(Enemy e, int delta) {
+            aliveCount += delta;
+            if (e instanceof BossEnemy) {
+                bossCount += delta;
             }
         }
-        return null;
     }
 
-    private BinaryTreeNode<EnemyListBinding> createBindingNode(BinaryTreeNode<MineRoom> node) {
+    // las bajas del frame se aplican al final del tick en commitRemovals
+    private final List<Enemy> pendingRemovals = new ArrayList<>();
+
+    // bindings indexados por identidad del nodo de la sala
+    private final Map<BinaryTreeNode<MineRoom>, EnemyListBinding> bindings = new IdentityHashMap<>();
+    // salas que el jugador dejo, con sus enemigos comunes empaquetados
+    private final Map<BinaryTreeNode<MineRoom>, DormantHorde> dormant = new IdentityHashMap<>();
+    private final RandomGenerator rnd;
+    private RoomEventListener roomListener;
+    // enemigos comunes muertos, se reciclan en los siguientes spawns
+    private final ObjectPool<Enemy> enemyPool = new ObjectPool<>(Enemy::new, 512);
+    // cristales y llaves recogidos; de esta partida y de su hilo de simulacion, igual que enemyPool
+    private final ObjectPool<Crystal> crystalPool = Crystal.newPool();
+    private final ObjectPool<Key> keyPool = Key.newPool();
+
+    public EnemyManager(BinaryTree<MineRoom> map, RandomGenerator rnd) {
+        this.rnd = rnd;
+    }
+
+    private EnemyListBinding findBinding(BinaryTreeNode<MineRoom> node) {
+        return node != null ? bindings.get(node) : null;
+    }
+
+    private EnemyListBinding createBinding(BinaryTreeNode<MineRoom> node) {
         EnemyListBinding b = new EnemyListBinding(node);
-        BinaryTreeNode<EnemyListBinding> newNode = new BinaryTreeNode<>(b);
-        if (bindingsTree.getRoot() == null) {
-            bindingsTree.setRoot(newNode);
-        }
-        else {
-            BinaryTreeNode<EnemyListBinding> cursor = (BinaryTreeNode<EnemyListBinding>) bindingsTree.getRoot();
-            while (cursor.getRight() != null) {
-                cursor = cursor.getRight();
-            }
-            cursor.setRight(newNode);
-        }
-        return newNode;
+        b.owner = this;
+        bindings.put(node, b);
+        return b;
     }
 
     public void addEnemyAt(BinaryTreeNode<MineRoom> node, Enemy e) {
-        if (node == null || e == null) {
+        if (node == null || node.getInfo() == null || e == null) {
             return;
         }
+        if (e.binding != null) {
+            detach(e);
+        }
         EnemyListBinding b = findBinding(node);
         if (b == null) {
-            BinaryTreeNode<EnemyListBinding> bn = createBindingNode(node);
-            b = bn.getInfo();
+            b = createBinding(node);
         }
-        b.enemies.add(e);
+        b.add(e);
     }
 
     public void removeEnemy(Enemy e) {
-        if (e == null) {
-            return;
-        }
-        if (bindingsTree.getRoot() == null) {
+        if (e == null || e.binding == null || e.pendingRemoval) {
             return;
         }
-        PreorderIterator<EnemyListBinding> it = bindingsTree.preOrderIterator();
-        BinaryTreeNode<EnemyListBinding> targetBindingNode = null;
-        EnemyListBinding targetBinding = null;
-        while (it.hasNext()) {
-            BinaryTreeNode<EnemyListBinding> bnode = it.nextNode();
-            EnemyListBinding b = bnode.getInfo();
-            if (b != null && b.enemies.contains(e)) {
-                targetBindingNode = bnode;
-                targetBinding = b;
-                break;
+        e.pendingRemoval = true;
+        pendingRemovals.add(e);
+    }
+
+    public void commitRemovals() {
+        for (Enemy e : pendingRemovals) {
+            if (e.pendingRemoval && e.binding != null) {
+                detach(e);
+                recycle(e);
             }
         }
-        if (targetBinding != null) {
-            targetBinding.enemies.remove(e);
-            if (targetBinding.enemies.isEmpty() && targetBindingNode != null) {
-                bindingsTree.deleteNode(targetBindingNode);
-            }
+        pendingRemovals.clear();
+    }
+
+    public Enemy obtainEnemy(BinaryTreeNode<MineRoom> node, float x, float y, int baseHp, float baseSpeed, int level) {
+        Enemy e = enemyPool.obtain();
+        e.init(node, x, y, baseHp, baseSpeed, level);
+        return e;
+    }
+
+    // usar en lugar de new para reciclar los cristales recogidos
+    public Crystal obtainCrystal(float x, float y, int value, int variant) {
+        return crystalPool.obtain().init(x, y, value, variant);
+    }
+
+    public void releaseCrystal(Crystal c) {
+        crystalPool.release(c);
+    }
+
+    public Key obtainKey(float x, float y, String id) {
+        return keyPool.obtain().init(x, y, id);
+    }
+
+    public void releaseKey(Key k) {
+        keyPool.release(k);
+    }
+
+    // solo los enemigos comunes y muertos vuelven al pool
+    private void recycle(Enemy e) {
+        if (e.getClass() == Enemy.class && !e.isAlive() && !e.isInPool()) {
+            enemyPool.release(e);
+        }
+    }
+
+    private void detach(Enemy e) {
+        EnemyListBinding b = e.binding;
+        e.pendingRemoval = false;
+        b.remove(e);
+        if (b.enemies.isEmpty()) {
+            bindings.remove(b.roomNode);
         }
     }
 
@@ -119,40 +187,192 @@ public class EnemyManager {
         if (b == null) {
             return Collections.emptyList();
         }
-        return new ArrayList<>(b.enemies);
+        return b.view;
+    }
+
+    public void forEachAlive(BinaryTreeNode<MineRoom> node, Consumer<Enemy> action) {
+        EnemyListBinding b = findBinding(node);
+        if (b == null) {
+            return;
+        }
+        List<Enemy> enemies = b.enemies;
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy e = enemies.get(i);
+            if (e.isAlive()) {
+                action.accept(e);
+            }
+        }
+    }
+
+    // mueve a todos los enemigos de la sala: los comunes en lote sobre el store, los jefes uno a uno
+    public void updateEnemies(BinaryTreeNode<MineRoom> node, float dt, Player player, MineRoom room) {
+        updateEnemies(node, dt, player, room, null, null, 0);
+    }
+
+    // con pool, los comunes se mueven en paralelo por trozos de grain slots.
+    // El campo de flujo se construye antes del kernel y solo se lee dentro, asi serie y paralelo siguen coincidiendo
+    public void updateEnemies(BinaryTreeNode<MineRoom> node, float dt, Player player, MineRoom room, List<Rectangle> roomWalls, ForkJoinPool pool, int grain) {
+        EnemyListBinding b = findBinding(node);
+        if (b == null) {
+            return;
+        }
+        FlowField field = null;
+        if (room != null && b.store.size > 0) {
+            b.field.update(player.x, player.y, room.width, room.height, roomWalls);
+            field = b.field;
+        }
+        if (pool != null) {
+            b.store.updateParallel(pool, grain, dt, player.x, player.y, room, field);
+        }
+        else {
+            b.store.update(dt, player.x, player.y, room, field);
+        }
+        for (int i = 0; i < b.store.size; i++) {
+            if (!b.store.batched[i]) {
+                b.enemies.get(i).update(dt, player, room);
+            }
+        }
+    }
+
+    // reconstruye la rejilla de la sala con las posiciones actuales, una vez por tick
+    public void refreshGrid(BinaryTreeNode<MineRoom> node) {
+        EnemyListBinding b = findBinding(node);
+        if (b != null) {
+            b.grid.rebuild(b.enemies);
+        }
+    }
+
+    public void forEachInRadius(BinaryTreeNode<MineRoom> node, float x, float y, float radius, Consumer<Enemy> action) {
+        EnemyListBinding b = findBinding(node);
+        if (b != null) {
+            b.grid.forEachInCircle(x, y, radius, action);
+        }
+    }
+
+    public void forEachInCone(BinaryTreeNode<MineRoom> node, float x, float y, float dirX, float dirY, float range, float angle, Consumer<Enemy> action) {
+        EnemyListBinding b = findBinding(node);
+        if (b != null) {
+            b.grid.forEachInCone(x, y, dirX, dirY, range, angle, action);
+        }
     }
 
+    public void forEachInRect(BinaryTreeNode<MineRoom> node, float minX, float minY, float maxX, float maxY, Consumer<Enemy> action) {
+        EnemyListBinding b = findBinding(node);
+        if (b != null) {
+            b.grid.forEachInRect(minX, minY, maxX, maxY, action);
+        }
+    }
+
+    public Enemy nearestEnemy(BinaryTreeNode<MineRoom> node, float x, float y, float maxRadius) {
+        EnemyListBinding b = findBinding(node);
+        return b != null ? b.grid.nearest(x, y, maxRadius) : null;
+    }
+
+    public int nearestEnemies(BinaryTreeNode<MineRoom> node, float x, float y, int k, float maxRadius, Enemy[] out) {
+        EnemyListBinding b = findBinding(node);
+        return b != null ? b.grid.kNearest(x, y, k, maxRadius, out) : 0;
+    }
+
+    public void setRoomEventListener(RoomEventListener l) {
+        this.roomListener = l;
+    }
+
+    // el ultimo vivo de la sala acaba de morir: jefe derrotado y/o sala despejada
+    void publishDeath(EnemyListBinding b, Enemy e) {
+        if (roomListener == null) {
+            return;
+        }
+        if (e instanceof BossEnemy) {
+            roomListener.onBossDefeated(b.roomNode, (BossEnemy) e);
+        }
+        if (b.aliveCount == 0) {
+            roomListener.onRoomCleared(b.roomNode);
+        }
+    }
+
+    // los enemigos muertos quedan pendientes de quitar, no cuentan
     public boolean isCleared(BinaryTreeNode<MineRoom> node) {
+        EnemyListBinding b = findBinding(node);
+        return (b == null || b.aliveCount == 0) && !dormant.containsKey(node);
+    }
+
+    public int getAliveCount(BinaryTreeNode<MineRoom> node) {
+        EnemyListBinding b = findBinding(node);
+        return b != null ? b.aliveCount : 0;
+    }
+
+    public int getBossCount(BinaryTreeNode<MineRoom> node) {
+        EnemyListBinding b = findBinding(node);
+        return b != null ? b.bossCount : 0;
+    }
+
+    // al salir de la sala: los comunes vivos pasan a DormantHorde y sus objetos vuelven al pool.
+    // Los jefes son unos pocos y guardan estado propio, se quedan como estan
+    public void suspendRoom(BinaryTreeNode<MineRoom> node) {
         EnemyListBinding b = findBinding(node);
         if (b == null) {
-            return true;
+            return;
         }
-        for (Enemy e : b.enemies) {
-            if (e != null && e.isAlive()) {
-                return false;
+        DormantHorde horde = dormant.get(node);
+        for (int i = b.enemies.size() - 1; i >= 0; i--) {
+            Enemy e = b.enemies.get(i);
+            if (e.getClass() != Enemy.class) {
+                continue;
+            }
+            if (e.isAlive() && !e.pendingRemoval) {
+                if (horde == null) {
+                    horde = new DormantHorde();
+                    dormant.put(node, horde);
+                }
+                horde.pack(e);
+                detach(e);
+                enemyPool.release(e);
+            }
+            else {
+                detach(e);
+                recycle(e);
             }
         }
-        return true;
+    }
+
+    // al entrar: rehidrata la horda dormida, si la hay
+    public void resumeRoom(BinaryTreeNode<MineRoom> node) {
+        DormantHorde horde = node != null ? dormant.remove(node) : null;
+        if (horde == null) {
+            return;
+        }
+        for (int i = 0; i < horde.size; i++) {
+            Enemy e = obtainEnemy(node, horde.x[i], horde.y[i], 0, 0f, horde.level[i]);
+            e.restore(horde.hp[i], horde.maxHp[i], horde.speed[i]);
+            addEnemyAt(node, e);
+        }
+    }
+
+    public int getDormantCount() {
+        int total = 0;
+        for (DormantHorde h : dormant.values()) {
+            total += h.size;
+        }
+        return total;
     }
 
     public void removeAllAt(BinaryTreeNode<MineRoom> node) {
         if (node == null) {
             return;
         }
-        EnemyListBinding b = findBinding(node);
+        dormant.remove(node);
+        EnemyListBinding b = bindings.remove(node);
         if (b == null) {
             return;
         }
         for (Enemy e : new ArrayList<>(b.enemies)) {
+            e.pendingRemoval = false;
+            b.remove(e);
             try {
                 e.damage(Integer.MAX_VALUE, null);
             } catch (Exception ex) {
             }
-        }
-        b.enemies.clear();
-        BinaryTreeNode<EnemyListBinding> bn = findBindingNode(node);
-        if (bn != null) {
-            bindingsTree.deleteNode(bn);
+            recycle(e);
         }
     }
 
@@ -169,7 +389,6 @@ public class EnemyManager {
         float cy = r.height / 2f;
         float dist = Math.max(48f, Math.min(spawnDistance, Math.max(r.width, r.height)));
 
-        List<Enemy> spawned = new ArrayList<>();
         for (int i = 0; i < amount; i++) {
             double ang = rnd.nextDouble() * Math.PI * 2.0;
             double rad = dist * (0.8 + rnd.nextDouble() * 0.4);
@@ -200,27 +419,14 @@ public class EnemyManager {
             int level = 1 + rnd.nextInt(2);
             int hp = 18 + level * 8;
             float speed = 18f + level * 3f;
-            Enemy e = new Enemy(node, sx, sy, hp, speed, level);
-            spawned.add(e);
-        }
-
-        for (Enemy e : spawned) {
-            addEnemyAt(node, e);
+            addEnemyAt(node, obtainEnemy(node, sx, sy, hp, speed, level));
         }
     }
 
     public List<Enemy> allEnemies() {
         List<Enemy> out = new ArrayList<>();
-        if (bindingsTree.getRoot() == null) {
-            return out;
-        }
-        PreorderIterator<EnemyListBinding> it = bindingsTree.preOrderIterator();
-        while (it.hasNext()) {
-            BinaryTreeNode<EnemyListBinding> n = it.nextNode();
-            EnemyListBinding b = n.getInfo();
-            if (b != null && !b.enemies.isEmpty()) {
-                out.addAll(b.enemies);
-            }
+        for (EnemyListBinding b : bindings.values()) {
+            out.addAll(b.enemies);
         }
         return out;
     }
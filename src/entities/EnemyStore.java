@@ -0,0 +1,179 @@
+package entities;
+
+import map.MineRoom;
+import utils.ParallelRange;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+// Estado de los enemigos en columnas (struct of arrays). Enemy es solo un indice (slot) dentro de un store.
+// Cada sala tiene el suyo con los mismos slots que su lista; un enemigo suelto vive en su store propio (home).
+public class EnemyStore {
+    float[] x, y, vx, vy, speed;
+    int[] hp, level, animTick;
+    boolean[] alive, facingLeft, batched;
+    Enemy[] handles;
+    int size = 0;
+
+    public EnemyStore(int capacity) {
+        capacity = Math.max(1, capacity);
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        speed = new float[capacity];
+        hp = new int[capacity];
+        level = new int[capacity];
+        animTick = new int[capacity];
+        alive = new boolean[capacity];
+        facingLeft = new boolean[capacity];
+        batched = new boolean[capacity];
+        handles = new Enemy[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // mueve el enemigo desde su store actual al final de este
+    void attach(Enemy e) {
+        if (size == x.length) {
+            grow(size * 2);
+        }
+        copySlot(e.store, e.slot, this, size);
+        handles[size] = e;
+        // los jefes tienen su propio update, el resto va por el kernel
+        batched[size] = e.getClass() == Enemy.class;
+        e.store = this;
+        e.slot = size;
+        size++;
+    }
+
+    // devuelve el enemigo del slot a su store propio y rellena el hueco con el ultimo
+    void detach(int slot) {
+        Enemy e = handles[slot];
+        EnemyStore own = e.home;
+        copySlot(this, slot, own, 0);
+        own.handles[0] = e;
+        own.size = 1;
+        e.store = own;
+        e.slot = 0;
+
+        int last = size - 1;
+        if (slot != last) {
+            copySlot(this, last, this, slot);
+            handles[slot] = handles[last];
+            batched[slot] = batched[last];
+            handles[slot].slot = slot;
+        }
+        handles[last] = null;
+        size--;
+    }
+
+    // kernel de persecucion para todos los enemigos comunes de la sala
+    public void update(float dt, float playerX, float playerY, MineRoom room, FlowField field) {
+        updateRange(0, size, dt, playerX, playerY, room, field);
+    }
+
+    // cada slot solo toca sus columnas, asi que el reparto en trozos da el mismo resultado que el bucle serie
+    public void updateParallel(ForkJoinPool pool, int grain, float dt, float playerX, float playerY, MineRoom room, FlowField field) {
+        pool.invoke(new ParallelRange(0, size, grain, (from, to) -> updateRange(from, to, dt, playerX, playerY, room, field)));
+    }
+
+    private void updateRange(int from, int to, float dt, float playerX, float playerY, MineRoom room, FlowField field) {
+        float decay = Math.max(0f, 1f - 6f * dt);
+        for (int i = from; i < to; i++) {
+            if (batched[i]) {
+                step(i, dt, decay, playerX, playerY, room, field);
+            }
+        }
+    }
+
+    // con campo de flujo solo los enemigos junto al jugador calculan la direccion exacta
+    void step(int i, float dt, float decay, float playerX, float playerY, MineRoom room, FlowField field) {
+        if (!alive[i] || hp[i] <= 0) {
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            vx[i] *= decay;
+            vy[i] *= decay;
+            return;
+        }
+        if (room == null) {
+            return;
+        }
+
+        float nx, ny;
+        int cell = field != null ? field.cellOf(x[i], y[i]) : -1;
+        if (cell >= 0 && !field.isNearPlayer(cell)) {
+            nx = field.dirX[cell];
+            ny = field.dirY[cell];
+        }
+        else {
+            float dx = playerX - x[i];
+            float dy = playerY - y[i];
+            float dist2 = dx * dx + dy * dy;
+            float dist = dist2 > 0.0001f ? (float) Math.sqrt(dist2) : 0f;
+            nx = dist > 0f ? dx / dist : 0f;
+            ny = dist > 0f ? dy / dist : 0f;
+        }
+        if (nx != 0f || ny != 0f) {
+            x[i] += (nx * speed[i] + vx[i]) * dt;
+            y[i] += (ny * speed[i] + vy[i]) * dt;
+            facingLeft[i] = nx < 0;
+        }
+        else {
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+        }
+
+        vx[i] *= decay;
+        vy[i] *= decay;
+
+        clamp(i, room);
+        animTick[i]++;
+    }
+
+    void clamp(int i, MineRoom r) {
+        float half = 8f;
+        if (x[i] < half) {
+            x[i] = half;
+        }
+        if (x[i] > r.width - half) {
+            x[i] = r.width - half;
+        }
+        if (y[i] < half) {
+            y[i] = half;
+        }
+        if (y[i] > r.height - half) {
+            y[i] = r.height - half;
+        }
+    }
+
+    private static void copySlot(EnemyStore from, int i, EnemyStore to, int j) {
+        to.x[j] = from.x[i];
+        to.y[j] = from.y[i];
+        to.vx[j] = from.vx[i];
+        to.vy[j] = from.vy[i];
+        to.speed[j] = from.speed[i];
+        to.hp[j] = from.hp[i];
+        to.level[j] = from.level[i];
+        to.animTick[j] = from.animTick[i];
+        to.alive[j] = from.alive[i];
+        to.facingLeft[j] = from.facingLeft[i];
+    }
+
+    private void grow(int capacity) {
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        hp = Arrays.copyOf(hp, capacity);
+        level = Arrays.copyOf(level, capacity);
+        animTick = Arrays.copyOf(animTick, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+        facingLeft = Arrays.copyOf(facingLeft, capacity);
+        batched = Arrays.copyOf(batched, capacity);
+        handles = Arrays.copyOf(handles, capacity);
+    }
+}
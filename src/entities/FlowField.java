@@ -0,0 +1,234 @@
+package entities;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.List;
+
+// Campo de flujo de una sala: una sola integracion (Dijkstra en rejilla) cada vez que el jugador cambia de celda,
+// y cada enemigo solo lee la direccion de su celda en O(1).
+public class FlowField {
+    public static final float CELL_SIZE = 24f;
+    private static final int STRAIGHT = 10;
+    private static final int DIAGONAL = 14;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int[] NX = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] NY = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    private int cols, rows;
+    private int width, height;
+    private boolean[] blocked = new boolean[0];
+    private int blockedCount = 0;
+    private int[] cost = new int[0];
+    float[] dirX = new float[0];
+    float[] dirY = new float[0];
+    private long[] heap = new long[64];
+
+    private int playerCell = -1;
+    private List<Rectangle> walls;
+    private int wallCount = -1;
+    private int builds = 0;
+
+    // recalcula solo si cambia la celda del jugador, el tamaño de la sala o las paredes
+    public boolean update(float playerX, float playerY, int roomWidth, int roomHeight, List<Rectangle> roomWalls) {
+        boolean resized = roomWidth != width || roomHeight != height;
+        if (resized) {
+            resize(roomWidth, roomHeight);
+        }
+        int wallsNow = roomWalls != null ? roomWalls.size() : 0;
+        boolean wallsChanged = resized || roomWalls != walls || wallsNow != wallCount;
+        if (wallsChanged) {
+            walls = roomWalls;
+            wallCount = wallsNow;
+            rasterizeWalls(roomWalls);
+        }
+        int cell = cellIndex(playerX, playerY);
+        boolean rebuild = wallsChanged || cell != playerCell;
+        if (rebuild) {
+            playerCell = cell;
+            if (blockedCount > 0) {
+                integrate();
+                builds++;
+            }
+        }
+        return rebuild;
+    }
+
+    // -1 mientras no se haya construido o si la sala no tiene paredes: sin obstaculos el camino es la recta
+    // y cada enemigo persigue con su propio vector exacto
+    public int cellOf(float x, float y) {
+        return playerCell < 0 || blockedCount == 0 ? -1 : cellIndex(x, y);
+    }
+
+    // en la celda del jugador y sus vecinas conviene perseguir con el vector exacto
+    public boolean isNearPlayer(int cell) {
+        int dx = Math.abs(cell % cols - playerCell % cols);
+        int dy = Math.abs(cell / cols - playerCell / cols);
+        return dx <= 1 && dy <= 1;
+    }
+
+    public float getDirX(int cell) {
+        return dirX[cell];
+    }
+
+    public float getDirY(int cell) {
+        return dirY[cell];
+    }
+
+    public boolean isReachable(int cell) {
+        return cost[cell] != UNREACHABLE;
+    }
+
+    public int getBuildCount() {
+        return builds;
+    }
+
+    private int cellIndex(float x, float y) {
+        int cx = Math.max(0, Math.min(cols - 1, (int) (x / CELL_SIZE)));
+        int cy = Math.max(0, Math.min(rows - 1, (int) (y / CELL_SIZE)));
+        return cy * cols + cx;
+    }
+
+    private void resize(int roomWidth, int roomHeight) {
+        width = roomWidth;
+        height = roomHeight;
+        cols = Math.max(1, (int) Math.ceil(roomWidth / CELL_SIZE));
+        rows = Math.max(1, (int) Math.ceil(roomHeight / CELL_SIZE));
+        int cells = cols * rows;
+        blocked = new boolean[cells];
+        cost = new int[cells];
+        dirX = new float[cells];
+        dirY = new float[cells];
+        playerCell = -1;
+    }
+
+    private void rasterizeWalls(List<Rectangle> roomWalls) {
+        Arrays.fill(blocked, false);
+        blockedCount = 0;
+        if (roomWalls == null) {
+            return;
+        }
+        for (Rectangle w : roomWalls) {
+            int x0 = Math.max(0, (int) (w.x / CELL_SIZE));
+            int y0 = Math.max(0, (int) (w.y / CELL_SIZE));
+            int x1 = Math.min(cols - 1, (int) ((w.x + w.width - 1) / CELL_SIZE));
+            int y1 = Math.min(rows - 1, (int) ((w.y + w.height - 1) / CELL_SIZE));
+            for (int cy = y0; cy <= y1; cy++) {
+                for (int cx = x0; cx <= x1; cx++) {
+                    if (!blocked[cy * cols + cx]) {
+                        blocked[cy * cols + cx] = true;
+                        blockedCount++;
+                    }
+                }
+            }
+        }
+    }
+
+    private void integrate() {
+        Arrays.fill(cost, UNREACHABLE);
+        int heapSize = 0;
+        if (!blocked[playerCell]) {
+            cost[playerCell] = 0;
+            heap[heapSize++] = playerCell;
+        }
+        while (heapSize > 0) {
+            long top = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heapSize);
+            int c = (int) top;
+            int d = (int) (top >>> 32);
+            if (d > cost[c]) {
+                continue;
+            }
+            int cx = c % cols;
+            int cy = c / cols;
+            for (int k = 0; k < 8; k++) {
+                int n = neighbour(cx, cy, k);
+                if (n >= 0) {
+                    int nd = d + (k < 4 ? STRAIGHT : DIAGONAL);
+                    if (nd < cost[n]) {
+                        cost[n] = nd;
+                        if (heapSize == heap.length) {
+                            heap = Arrays.copyOf(heap, heapSize * 2);
+                        }
+                        heap[heapSize] = ((long) nd << 32) | n;
+                        siftUp(heapSize++);
+                    }
+                }
+            }
+        }
+
+        // direccion hacia la vecina de menor coste
+        for (int c = 0; c < cost.length; c++) {
+            dirX[c] = 0f;
+            dirY[c] = 0f;
+            if (cost[c] == UNREACHABLE || cost[c] == 0) {
+                continue;
+            }
+            int cx = c % cols;
+            int cy = c / cols;
+            int best = cost[c];
+            int bestK = -1;
+            for (int k = 0; k < 8; k++) {
+                int n = neighbour(cx, cy, k);
+                if (n >= 0 && cost[n] < best) {
+                    best = cost[n];
+                    bestK = k;
+                }
+            }
+            if (bestK >= 0) {
+                float inv = bestK < 4 ? 1f : 0.70710677f;
+                dirX[c] = NX[bestK] * inv;
+                dirY[c] = NY[bestK] * inv;
+            }
+        }
+    }
+
+    // vecina transitable en la direccion k, sin cortar esquinas en diagonal
+    private int neighbour(int cx, int cy, int k) {
+        int nx = cx + NX[k];
+        int ny = cy + NY[k];
+        if (nx < 0 || ny < 0 || nx >= cols || ny >= rows || blocked[ny * cols + nx]) {
+            return -1;
+        }
+        if (k >= 4 && (blocked[cy * cols + nx] || blocked[ny * cols + cx])) {
+            return -1;
+        }
+        return ny * cols + nx;
+    }
+
+    private void siftUp(int i) {
+        long v = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= v) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = v;
+    }
+
+    private void siftDown(int size) {
+        if (size == 0) {
+            return;
+        }
+        long v = heap[0];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= v) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = v;
+    }
+}
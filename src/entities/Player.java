@@ -1,8 +1,6 @@
 package entities;
 
-import Tree.BinaryTree;
-import Tree.BinaryTreeNode;
-import Tree.PreorderIterator;
+import Tree.PrimitiveSlotMap;
 import game.GameController;
 import menu.Choice;
 import menu.PerkPool;
@@ -12,7 +10,6 @@ import weapons.WeaponDef;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 public class Player {
 
@@ -47,8 +44,11 @@ public class Player {
     public int xpToNextLevel = 100;
     public int totalXp = 0;
 
-    public final BinaryTree<Binding> weaponLevelsTree = new BinaryTree<Binding>();
-    public final BinaryTree<Binding> passiveStacksTree = new BinaryTree<Binding>();
+    // int = nivel del arma, float = cooldown restante en segundos
+    public final PrimitiveSlotMap<String> weaponSlots = new PrimitiveSlotMap<String>(String::compareTo);
+    // int = stacks de la pasiva
+    public final PrimitiveSlotMap<String> passiveSlots = new PrimitiveSlotMap<String>(String::compareTo);
+    private WeaponDef[] weaponDefs = new WeaponDef[8];
 
     public float damageMultiplier = 1f;
     public float attackCooldownMultiplier = 1f;
@@ -57,20 +57,7 @@ public class Player {
     public int flatCrystalBonus = 0;
     public float hpRegenPerSec = 0f;
 
-    public final BinaryTree<Binding> weaponTimersTree = new BinaryTree<Binding>();
-
     private final PerkPool pool;
-    private final Random rnd = new Random();
-
-    public static class Binding {
-        public String key;
-        public int value;
-
-        public Binding(String k, int v) {
-            this.key = k;
-            this.value = v;
-        }
-    }
 
     public Player(float x, float y, PerkPool pool) {
         this.x = x;
@@ -78,8 +65,7 @@ public class Player {
         this.pool = pool;
         this.xpToNextLevel = calcXpForLevel(this.level);
 
-        putBinding(weaponLevelsTree, "pico", 1);
-        putBinding(weaponTimersTree, "pico", 0);
+        addWeaponLevel("pico");
     }
 
     private int animTick = 0;
@@ -108,78 +94,20 @@ public class Player {
         facingLeft = false;
     }
 
-    private Binding getBinding(BinaryTree<Binding> tree, String key) {
-        Binding result = null;
-        if (tree != null && tree.getRoot() != null) {
-            PreorderIterator<Binding> it = tree.preOrderIterator();
-            while (it.hasNext()) {
-                BinaryTreeNode<Binding> node = it.nextNode();
-                Binding b = node.getInfo();
-                if (b != null && b.key.equals(key)) {
-                    result = b;
-                    break;
-                }
+    private int addWeaponLevel(String id) {
+        int slot = weaponSlots.handle(id);
+        if (slot >= 0) {
+            weaponSlots.setInt(slot, Math.max(1, weaponSlots.getInt(slot) + 1));
+            if (slot >= weaponDefs.length) {
+                WeaponDef[] grown = new WeaponDef[Math.max(slot + 1, weaponDefs.length * 2)];
+                System.arraycopy(weaponDefs, 0, grown, 0, weaponDefs.length);
+                weaponDefs = grown;
             }
-        }
-        return result;
-    }
-
-    private void putBinding(BinaryTree<Binding> tree, String key, int value) {
-        if (tree == null) {
-            return;
-        }
-        Binding existing = getBinding(tree, key);
-        if (existing != null) {
-            existing.value = value;
-        } else {
-            BinaryTreeNode<Binding> node = new BinaryTreeNode<>(new Binding(key, value));
-            if (tree.getRoot() == null) {
-                tree.setRoot(node);
-            } else {
-                BinaryTreeNode<Binding> cursor = (BinaryTreeNode<Binding>) tree.getRoot();
-                while (cursor.getRight() != null) {
-                    cursor = cursor.getRight();
-                }
-                cursor.setRight(node);
+            if (weaponDefs[slot] == null && pool != null) {
+                weaponDefs[slot] = pool.getWeapon(id);
             }
         }
-    }
-
-    private int getIntBinding(BinaryTree<Binding> tree, String key, int defaultValue) {
-        int result = defaultValue;
-        Binding b = getBinding(tree, key);
-        if (b != null) {
-            result = b.value;
-        }
-        return result;
-    }
-
-    private void incBinding(BinaryTree<Binding> tree, String key, int delta) {
-        Binding b = getBinding(tree, key);
-        if (b != null) {
-            b.value += delta;
-        } else {
-            putBinding(tree, key, delta);
-        }
-    }
-
-    private void removeBinding(BinaryTree<Binding> tree, String key) {
-        if (tree == null || tree.getRoot() == null) {
-            return;
-        }
-        PreorderIterator<Binding> it = tree.preOrderIterator();
-        BinaryTreeNode<Binding> found = null;
-        while (it.hasNext()) {
-            BinaryTreeNode<Binding> n = it.nextNode();
-            Binding b = n.getInfo();
-            if (b != null && b.key.equals(key)) {
-                found = n;
-                break;
-            }
-        }
-        if (found != null) {
-            tree.deleteNode(found);
-        }
+        return slot;
     }
 
     public void addXp(int xp, GameController controller) {
@@ -208,14 +136,12 @@ public class Player {
     public void applyChoice(Choice c) {
         if (c != null) {
             if (c.kind == Choice.Kind.WEAPON) {
-                int prev = getIntBinding(weaponLevelsTree, c.id, 0);
-                int next = Math.max(1, prev + 1);
-                putBinding(weaponLevelsTree, c.id, next);
-                if (getBinding(weaponTimersTree, c.id) == null) {
-                    putBinding(weaponTimersTree, c.id, 0);
-                }
+                addWeaponLevel(c.id);
             } else if (c.kind == Choice.Kind.PASSIVE) {
-                incBinding(passiveStacksTree, c.id, 1);
+                int slot = passiveSlots.handle(c.id);
+                if (slot >= 0) {
+                    passiveSlots.addInt(slot, 1);
+                }
                 PassiveDef p = pool.getPassive(c.id);
                 if (p != null) {
                     p.applyTo(this, 1);
@@ -231,18 +157,10 @@ public class Player {
         crystalXpMultiplier = 1f;
         flatCrystalBonus = 0;
         hpRegenPerSec = 0f;
-        if (passiveStacksTree != null && passiveStacksTree.getRoot() != null) {
-            PreorderIterator<Binding> it = passiveStacksTree.preOrderIterator();
-            while (it.hasNext()) {
-                BinaryTreeNode<Binding> n = it.nextNode();
-                Binding b = n.getInfo();
-                if (b == null) {
-                    continue;
-                }
-                PassiveDef pd = pool.getPassive(b.key);
-                if (pd != null) {
-                    pd.applyTo(this, b.value);
-                }
+        for (int slot = 0; slot < passiveSlots.size(); slot++) {
+            PassiveDef pd = pool.getPassive(passiveSlots.keyAt(slot));
+            if (pd != null) {
+                pd.applyTo(this, passiveSlots.getInt(slot));
             }
         }
     }
@@ -270,57 +188,20 @@ public class Player {
     }
 
     public void updateWeapons(float dt, List<Enemy> enemies, GameController controller) {
-        if (weaponTimersTree.getRoot() != null) {
-            List<BinaryTreeNode<Binding>> nodes = new ArrayList<>();
-            PreorderIterator<Binding> itTimers = weaponTimersTree.preOrderIterator();
-            while (itTimers.hasNext()) {
-                nodes.add(itTimers.nextNode());
-            }
-            for (BinaryTreeNode<Binding> n : nodes) {
-                Binding b = n.getInfo();
-                if (b == null) {
-                    continue;
-                }
-                int newValue = Math.max(0, b.value - Math.round(dt * 1000));
-                b.value = newValue;
+        for (int slot = 0; slot < weaponSlots.size(); slot++) {
+            float timer = Math.max(0f, weaponSlots.getFloat(slot) - dt);
+            WeaponDef def = weaponDefs[slot];
+            if (def != null && timer <= 0f) {
+                int wlvl = weaponSlots.getInt(slot);
+                float baseCd = def.baseCooldown * attackCooldownMultiplier;
+                float levelFactor = (float) Math.pow(0.95, wlvl - 1);
+                float effectiveCd = Math.max(0.02f, baseCd * levelFactor);
+
+                def.fire(this, wlvl, enemies, controller);
+                timer = effectiveCd;
             }
+            weaponSlots.setFloat(slot, timer);
         }
-
-        if (weaponLevelsTree.getRoot() != null) {
-            PreorderIterator<Binding> it = weaponLevelsTree.preOrderIterator();
-            while (it.hasNext()) {
-                BinaryTreeNode<Binding> n = it.nextNode();
-                Binding b = n.getInfo();
-                if (b == null) {
-                    continue;
-                }
-                String wid = b.key;
-                int wlvl = b.value;
-                WeaponDef def = pool.getWeapon(wid);
-                if (def == null) {
-                    continue;
-                }
-
-                float timer = getWeaponTimerSeconds(wid);
-                if (timer <= 0f) {
-                    float baseCd = def.baseCooldown * attackCooldownMultiplier;
-                    float levelFactor = (float) Math.pow(0.95, wlvl - 1);
-                    float effectiveCd = Math.max(0.02f, baseCd * levelFactor);
-
-                    def.fire(this, wlvl, enemies, controller);
-                    putBinding(weaponTimersTree, wid, Math.round(effectiveCd * 1000f));
-                }
-            }
-        }
-    }
-
-    private float getWeaponTimerSeconds(String wid) {
-        float result = 0f;
-        Binding t = getBinding(weaponTimersTree, wid);
-        if (t != null) {
-            result = t.value / 1000f;
-        }
-        return result;
     }
 
     // El tiempo total acumulado en cada actualizacion
@@ -364,11 +245,11 @@ public class Player {
     }
 
     public int getWeaponLevel(String id) {
-        return getIntBinding(weaponLevelsTree, id, 0);
+        return weaponSlots.getInt(id, 0);
     }
 
     public int getPassiveStacks(String id) {
-        return getIntBinding(passiveStacksTree, id, 0);
+        return passiveSlots.getInt(id, 0);
     }
 
     public final java.util.List<String> keysOwned = new java.util.ArrayList<>();
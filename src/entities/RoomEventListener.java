@@ -0,0 +1,11 @@
+package entities;
+
+import Tree.BinaryTreeNode;
+import map.MineRoom;
+
+// Eventos que publica EnemyManager a partir de sus contadores, en lugar de revisar las salas cada frame
+public interface RoomEventListener {
+    void onRoomCleared(BinaryTreeNode<MineRoom> node);
+
+    void onBossDefeated(BinaryTreeNode<MineRoom> node, BossEnemy boss);
+}
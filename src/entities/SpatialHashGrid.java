@@ -0,0 +1,235 @@
+package entities;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Rejilla hash uniforme para consultas de proximidad de enemigos dentro de una sala.
+// Cada celda es una lista enlazada sobre arrays, asi reconstruirla no reserva memoria.
+public class SpatialHashGrid {
+    private static final int EMPTY = -1;
+
+    private final float cellSize;
+    private final float invCellSize;
+    private int[] heads;
+    private int mask;
+
+    private Enemy[] entries = new Enemy[32];
+    private int[] next = new int[32];
+    private int[] cellX = new int[32];
+    private int[] cellY = new int[32];
+    // generacion del enemigo al insertarlo, descarta entradas de enemigos ya reciclados
+    private int[] gens = new int[32];
+    private int count = 0;
+
+    // buffers reutilizados por las consultas de vecinos
+    private final Enemy[] nearestOut = new Enemy[1];
+    private float[] dist2 = new float[8];
+
+    // celdas ocupadas extremas, acotan la busqueda del mas cercano
+    private int minCellX, minCellY, maxCellX, maxCellY;
+
+    public SpatialHashGrid(float cellSize) {
+        this.cellSize = cellSize;
+        this.invCellSize = 1f / cellSize;
+        this.heads = new int[64];
+        this.mask = heads.length - 1;
+        Arrays.fill(heads, EMPTY);
+        resetBounds();
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void clear() {
+        Arrays.fill(heads, EMPTY);
+        Arrays.fill(entries, 0, count, null);
+        count = 0;
+        resetBounds();
+    }
+
+    public void rebuild(List<Enemy> enemies) {
+        clear();
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy e = enemies.get(i);
+            if (e.isAlive()) {
+                insert(e);
+            }
+        }
+    }
+
+    public void insert(Enemy e) {
+        if (count == entries.length) {
+            grow();
+        }
+        int cx = cellOf(e.getX());
+        int cy = cellOf(e.getY());
+        int bucket = bucketOf(cx, cy);
+        entries[count] = e;
+        cellX[count] = cx;
+        cellY[count] = cy;
+        gens[count] = e.getGeneration();
+        next[count] = heads[bucket];
+        heads[bucket] = count;
+        count++;
+
+        minCellX = Math.min(minCellX, cx);
+        minCellY = Math.min(minCellY, cy);
+        maxCellX = Math.max(maxCellX, cx);
+        maxCellY = Math.max(maxCellY, cy);
+    }
+
+    public void forEachInRect(float minX, float minY, float maxX, float maxY, Consumer<Enemy> action) {
+        if (count == 0) {
+            return;
+        }
+        int fromX = Math.max(cellOf(minX), minCellX);
+        int fromY = Math.max(cellOf(minY), minCellY);
+        int toX = Math.min(cellOf(maxX), maxCellX);
+        int toY = Math.min(cellOf(maxY), maxCellY);
+        for (int cy = fromY; cy <= toY; cy++) {
+            for (int cx = fromX; cx <= toX; cx++) {
+                for (int i = heads[bucketOf(cx, cy)]; i != EMPTY; i = next[i]) {
+                    Enemy e = entries[i];
+                    if (cellX[i] == cx && cellY[i] == cy && gens[i] == e.getGeneration() && e.isAlive()) {
+                        float x = e.getX();
+                        float y = e.getY();
+                        if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                            action.accept(e);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public void forEachInCircle(float x, float y, float radius, Consumer<Enemy> action) {
+        float r2 = radius * radius;
+        forEachInRect(x - radius, y - radius, x + radius, y + radius, e -> {
+            float dx = e.getX() - x;
+            float dy = e.getY() - y;
+            if (dx * dx + dy * dy <= r2) {
+                action.accept(e);
+            }
+        });
+    }
+
+    // cono con vertice en (x, y), direccion (dirX, dirY) normalizada y apertura total angle
+    public void forEachInCone(float x, float y, float dirX, float dirY, float range, float angle, Consumer<Enemy> action) {
+        float coneCos = (float) Math.cos(angle * 0.5f);
+        forEachInCircle(x, y, range, e -> {
+            float dx = e.getX() - x;
+            float dy = e.getY() - y;
+            float d = (float) Math.sqrt(dx * dx + dy * dy);
+            float dot = (dx * dirX + dy * dirY) / (d + 1e-6f);
+            if (dot >= coneCos) {
+                action.accept(e);
+            }
+        });
+    }
+
+    public Enemy nearest(float x, float y, float maxRadius) {
+        int found = kNearest(x, y, 1, maxRadius, nearestOut);
+        Enemy result = found > 0 ? nearestOut[0] : null;
+        nearestOut[0] = null;
+        return result;
+    }
+
+    // rellena out con los k mas cercanos ordenados por distancia, devuelve cuantos encontro
+    public int kNearest(float x, float y, int k, float maxRadius, Enemy[] out) {
+        k = Math.min(k, out.length);
+        if (count == 0 || k <= 0) {
+            return 0;
+        }
+        if (dist2.length < k) {
+            dist2 = new float[k];
+        }
+        int found = 0;
+        float max2 = maxRadius * maxRadius;
+        int ox = cellOf(x);
+        int oy = cellOf(y);
+        int maxRing = Math.max(Math.max(Math.abs(ox - minCellX), Math.abs(ox - maxCellX)),
+                Math.max(Math.abs(oy - minCellY), Math.abs(oy - maxCellY)));
+        if (maxRadius < Float.MAX_VALUE) {
+            maxRing = Math.min(maxRing, (int) Math.ceil(maxRadius * invCellSize) + 1);
+        }
+
+        boolean done = false;
+        for (int ring = 0; ring <= maxRing && !done; ring++) {
+            for (int cy = oy - ring; cy <= oy + ring; cy++) {
+                boolean edgeRow = cy == oy - ring || cy == oy + ring;
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                for (int cx = ox - ring; cx <= ox + ring; cx += step) {
+                    for (int i = heads[bucketOf(cx, cy)]; i != EMPTY; i = next[i]) {
+                        Enemy e = entries[i];
+                        if (cellX[i] != cx || cellY[i] != cy || gens[i] != e.getGeneration() || !e.isAlive()) {
+                            continue;
+                        }
+                        float dx = e.getX() - x;
+                        float dy = e.getY() - y;
+                        float d2 = dx * dx + dy * dy;
+                        if (d2 > max2 || (found == k && d2 >= dist2[k - 1])) {
+                            continue;
+                        }
+                        int pos = found < k ? found++ : k - 1;
+                        while (pos > 0 && dist2[pos - 1] > d2) {
+                            dist2[pos] = dist2[pos - 1];
+                            out[pos] = out[pos - 1];
+                            pos--;
+                        }
+                        dist2[pos] = d2;
+                        out[pos] = e;
+                    }
+                }
+            }
+            // lo que quede fuera de este anillo esta al menos a ring * cellSize
+            if (found == k) {
+                float reach = ring * cellSize;
+                done = dist2[k - 1] <= reach * reach;
+            }
+        }
+        return found;
+    }
+
+    private int cellOf(float v) {
+        return (int) Math.floor(v * invCellSize);
+    }
+
+    private int bucketOf(int cx, int cy) {
+        int h = cx * 0x9E3779B1 + cy * 0x85EBCA77;
+        return (h ^ (h >>> 15)) & mask;
+    }
+
+    private void resetBounds() {
+        minCellX = Integer.MAX_VALUE;
+        minCellY = Integer.MAX_VALUE;
+        maxCellX = Integer.MIN_VALUE;
+        maxCellY = Integer.MIN_VALUE;
+    }
+
+    private void grow() {
+        int capacity = entries.length * 2;
+        entries = Arrays.copyOf(entries, capacity);
+        next = Arrays.copyOf(next, capacity);
+        cellX = Arrays.copyOf(cellX, capacity);
+        cellY = Arrays.copyOf(cellY, capacity);
+        gens = Arrays.copyOf(gens, capacity);
+
+        // mantener la tabla al menos del doble de entradas para cadenas cortas
+        if (heads.length < capacity * 2) {
+            heads = new int[capacity * 2];
+            mask = heads.length - 1;
+            Arrays.fill(heads, EMPTY);
+            for (int i = 0; i < count; i++) {
+                int bucket = bucketOf(cellX[i], cellY[i]);
+                next[i] = heads[bucket];
+                heads[bucket] = i;
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package game;
+
+// Salida de sonido del juego. Por defecto no suena nada, asi GameController puede correr sin dispositivo de audio
+public interface AudioSink {
+    AudioSink NONE = new AudioSink() {
+    };
+
+    // musica de fondo en bucle
+    default void startBackground() {
+    }
+
+    // paran la musica de fondo y suenan una sola vez
+    default void playVictory() {
+    }
+
+    default void playLose() {
+    }
+
+    // permite volver a sonar victoria/derrota
+    default void reset() {
+    }
+
+    default void close() {
+    }
+}
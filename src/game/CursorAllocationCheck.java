@@ -0,0 +1,53 @@
+package game;
+
+import Tree.BinaryTree;
+import Tree.TreeCursor;
+import map.MineRoom;
+import map.SimpleMapBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+// Los cursores de recorrido no deben reservar memoria: se reutilizan en cada tick sobre el mapa.
+// Mide con ThreadMXBean los bytes por recorrido completo y termina con 1 si alguno reserva.
+// java -Djava.awt.headless=true game.CursorAllocationCheck [altura] [recorridos]
+public class CursorAllocationCheck {
+    private static final int WARMUP = 20_000;
+
+    public static void main(String[] args) {
+        int height = args.length > 0 ? Integer.parseInt(args[0]) : 9;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        BinaryTree<MineRoom> linked = SimpleMapBuilder.buildProceduralBinaryMap(height, 800, 600, new SplittableRandom(1));
+        BinaryTree<MineRoom> array = SimpleMapBuilder.buildProceduralArrayMap(height, 800, 600, new SplittableRandom(1));
+
+        boolean allocates = false;
+        for (BinaryTree<MineRoom> map : new BinaryTree[]{linked, array}) {
+            TreeCursor<?>[] cursors = {map.preOrderCursor(), map.symmetricCursor(), map.posOrderCursor(), map.breadthCursor()};
+            for (TreeCursor<?> cursor : cursors) {
+                traverse(cursor, WARMUP);
+                long before = mx.getThreadAllocatedBytes(thread);
+                int nodes = traverse(cursor, runs);
+                long bytes = mx.getThreadAllocatedBytes(thread) - before;
+                System.out.printf("%-15s %-16s %6d nodos  %.2f B/recorrido%n", map.getClass().getSimpleName(),
+                        cursor.getClass().getSimpleName(), nodes / runs, (double) bytes / runs);
+                allocates |= bytes > 0;
+            }
+        }
+        System.exit(allocates ? 1 : 0);
+    }
+
+    private static int traverse(TreeCursor<?> cursor, int runs) {
+        int nodes = 0;
+        for (int r = 0; r < runs; r++) {
+            cursor.reset();
+            while (cursor.hasNext()) {
+                cursor.nextNode();
+                nodes++;
+            }
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,110 @@
+package game;
+
+import entities.Enemy;
+import utils.RngService;
+
+import java.util.List;
+
+// Como escala el tick con el numero de enemigos en una sala (50 .. 5000), sin ventana.
+// Para cada tamano tambien compara la separacion entre enemigos con el doble bucle original, posicion a posicion.
+// java -Djava.awt.headless=true game.EnemyScalingBenchmark [ticks] [semilla] [paralelo]
+public class EnemyScalingBenchmark {
+    private static final int[] SIZES = {50, 100, 250, 500, 1000, 2500, 5000};
+    private static final int WARMUP_TICKS = 120;
+
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 240;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        boolean parallel = args.length > 2 && Boolean.parseBoolean(args[2]);
+
+        System.out.println("enemigos  vivos  ms/tick  separacion(ms)  pares-doble-bucle(ms)  iguales");
+        for (int n : SIZES) {
+            GameController c = GameController.newGame(new RngService(seed), 2, 890, 570, AudioSink.NONE);
+            c.setParallelSimulation(parallel);
+            c.enemyManager.spawnHordeAt(c.nodoActual, n, 300f);
+            HeadlessRuntime rt = new HeadlessRuntime(c);
+
+            // la horda se cierra sobre el jugador: asi se mide la sala densa, no el anillo de spawn
+            for (int t = 0; t < WARMUP_TICKS; t++) {
+                keepAlive(c);
+                rt.advance();
+            }
+
+            long start = System.nanoTime();
+            for (int t = 0; t < ticks; t++) {
+                keepAlive(c);
+                rt.advance();
+            }
+            double msPerTick = (System.nanoTime() - start) / 1e6 / ticks;
+
+            List<Enemy> enemies = c.enemyManager.getEnemiesAt(c.nodoActual);
+            int size = enemies.size();
+            float[] x0 = new float[size], y0 = new float[size];
+            for (int i = 0; i < size; i++) {
+                x0[i] = enemies.get(i).getX();
+                y0[i] = enemies.get(i).getY();
+            }
+
+            float[] rx = x0.clone(), ry = y0.clone();
+            long refStart = System.nanoTime();
+            referencePairLoop(enemies, rx, ry);
+            double refMs = (System.nanoTime() - refStart) / 1e6;
+
+            long sepStart = System.nanoTime();
+            c.resolveEnemyEnemyCollisions(enemies, HeadlessRuntime.DT, parallel && size >= 256);
+            double sepMs = (System.nanoTime() - sepStart) / 1e6;
+
+            boolean same = true;
+            for (int i = 0; i < size && same; i++) {
+                Enemy e = enemies.get(i);
+                same = e.getX() == rx[i] && e.getY() == ry[i];
+            }
+            System.out.printf("%8d  %5d  %7.3f  %14.3f  %21.3f  %s%n", n, countAlive(enemies), msPerTick, sepMs, refMs, same ? "si" : "NO");
+            rt.shutdown();
+        }
+    }
+
+    // que el jugador no muera: interesa el coste de la sala llena, no la partida
+    private static void keepAlive(GameController c) {
+        c.player.hp = c.player.maxHp;
+        c.player.alive = true;
+    }
+
+    private static int countAlive(List<Enemy> enemies) {
+        int alive = 0;
+        for (Enemy e : enemies) {
+            if (e.isAlive()) {
+                alive++;
+            }
+        }
+        return alive;
+    }
+
+    // la separacion O(n^2) de antes de la fase amplia, sobre copias de las posiciones
+    private static void referencePairLoop(List<Enemy> enemies, float[] x, float[] y) {
+        int n = enemies.size();
+        float minDist = 18f;
+        for (int i = 0; i < n; i++) {
+            if (enemies.get(i).isAlive()) {
+                for (int j = i + 1; j < n; j++) {
+                    if (enemies.get(j).isAlive()) {
+                        float dx = x[j] - x[i];
+                        float dy = y[j] - y[i];
+                        float dist2 = dx * dx + dy * dy;
+                        if (dist2 > 0f && dist2 < minDist * minDist) {
+                            float dist = (float) Math.sqrt(dist2);
+                            float overlap = (minDist - dist);
+                            float nx = dx / (dist + 1e-6f);
+                            float ny = dy / (dist + 1e-6f);
+                            float push = 0.5f * overlap;
+                            x[i] += -nx * push;
+                            y[i] += -ny * push;
+                            x[j] += nx * push;
+                            y[j] += ny * push;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package game;
+
+// Bucle de paso fijo: acumula el tiempo real de cada frame y avanza la simulacion en pasos iguales,
+// asi el resultado no depende de lo que tarde el repintado.
+public class FixedStepLoop {
+    public interface Step {
+        void step(float dt);
+    }
+
+    private final Step body;
+    private final float stepSeconds;
+    private final long stepNs;
+    private final int maxStepsPerFrame;
+    // un frame mas largo que esto (ventana arrastrada, GC, depurador) no se intenta recuperar
+    private final long maxFrameNs;
+
+    private long lastNs = -1;
+    private long accumulatorNs = 0;
+    private long ticks = 0;
+    private long droppedNs = 0;
+
+    public FixedStepLoop(int hz, int maxStepsPerFrame, Step body) {
+        this.body = body;
+        this.stepNs = 1_000_000_000L / hz;
+        this.stepSeconds = 1f / hz;
+        this.maxStepsPerFrame = Math.max(1, maxStepsPerFrame);
+        this.maxFrameNs = 250_000_000L;
+    }
+
+    // llamado una vez por frame, devuelve cuantos pasos se ejecutaron
+    public int advance(long nowNs) {
+        if (lastNs < 0) {
+            lastNs = nowNs;
+            return 0;
+        }
+        long elapsed = nowNs - lastNs;
+        lastNs = nowNs;
+        if (elapsed > maxFrameNs) {
+            droppedNs += elapsed - maxFrameNs;
+            elapsed = maxFrameNs;
+        }
+        accumulatorNs += Math.max(0L, elapsed);
+
+        int steps = 0;
+        while (accumulatorNs >= stepNs && steps < maxStepsPerFrame) {
+            body.step(stepSeconds);
+            accumulatorNs -= stepNs;
+            steps++;
+            ticks++;
+        }
+        // si la simulacion no da abasto se descarta el atraso en lugar de acumularlo (espiral de la muerte)
+        if (accumulatorNs >= stepNs) {
+            droppedNs += accumulatorNs - accumulatorNs % stepNs;
+            accumulatorNs %= stepNs;
+        }
+        return steps;
+    }
+
+    // olvida el tiempo transcurrido, p. ej. al volver de una pausa
+    public void reset() {
+        lastNs = -1;
+        accumulatorNs = 0;
+    }
+
+    // fraccion del siguiente paso ya transcurrida, para interpolar al dibujar
+    public float getAlpha() {
+        return (float) accumulatorNs / stepNs;
+    }
+
+    public float getStepSeconds() {
+        return stepSeconds;
+    }
+
+    public long getTickCount() {
+        return ticks;
+    }
+
+    public long getDroppedNanos() {
+        return droppedNs;
+    }
+}
@@ -1,5 +1,6 @@
 package game;
 
+import Tree.AugmentedBinaryTreeNode;
 import Tree.BinaryTree;
 import Tree.BinaryTreeNode;
 import Tree.TreeNode;
@@ -8,34 +9,31 @@ import entities.BossEnemy;
 import entities.Enemy;
 import entities.EnemyManager;
 import entities.Player;
+import entities.RoomEventListener;
 import map.*;
 import menu.Choice;
 import menu.PerkPool;
-import utils.BackgroundMusic;
+import utils.ParallelRange;
+import utils.RngService;
 import weapons.OrbittingOrb;
 import weapons.Projectile;
 
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.LineEvent;
-import javax.swing.*;
 import java.awt.*;
-import java.net.URL;
 import java.util.*;
 import java.util.List;
 import java.util.Queue;
-import javax.sound.sampled.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
 
-public class GameController {
+public class GameController implements RoomEventListener {
 
-    private BackgroundMusic backgroundMusic;
-    private BackgroundMusic victoryMusic=null;
-    private boolean victoryMusicPlayed = false;
-    private BackgroundMusic loseMusic = null;
-    private boolean loseMusicPlayed = false;
+    // sonido enchufable, sin audio por defecto
+    private final AudioSink audio;
 
     public final BinaryTree<MineRoom> map;
     public BinaryTreeNode<MineRoom> nodoActual;
+    // sala despejada en este tick, la anota onRoomCleared
+    private BinaryTreeNode<MineRoom> clearedRoom = null;
     public final Player player;
     public final EnemyManager enemyManager;
     public final PerkPool pool;
@@ -47,33 +45,72 @@ public class GameController {
     private final List<Projectile> projectiles = new ArrayList<>();
     private final List<Effect> effects = new ArrayList<>();
 
+    // separación entre enemigos (barrido en x)
+    private static final float ENEMY_MIN_DIST = 18f;
+    private static final float ENEMY_CONTACT_RADIUS = 14f;
+    // salas densas: rejilla de celdas de ENEMY_MIN_DIST, acotada por eje
+    private static final int SEP_GRID_MAX = 512;
+    private long[] sweepOrder = new long[128];
+    private long[] sweepPairs = new long[256];
+    private float[] sepX = new float[128], sepY = new float[128];
+    private float[] sepX0 = new float[128], sepY0 = new float[128], sepDev = new float[128];
+    private int[] gridHead = new int[256];
+    private int[] gridNext = new int[128], gridPrev = new int[128], gridCellOf = new int[128];
+    private int[] sepCand = new int[64];
+    private float[] sepCandX = new float[64], sepCandY = new float[64];
+    private float gridMinX, gridMinY;
+    // la horda del frame anterior estaba demasiado apretada para el barrido: ir directo a la rejilla
+    private boolean sepDense = false;
+    private int gridCols, gridRows;
+
+    // tick paralelo opcional: mismo resultado que el serie, solo se usa en salas grandes
+    private static final int PARALLEL_MIN_ENEMIES = 256;
+    private static final int PARALLEL_GRAIN = 128;
+    private boolean parallelSimulation = false;
+    private ForkJoinPool simulationPool = ForkJoinPool.commonPool();
+    private long[][] chunkPairs = new long[1][256];
+    private int[] chunkPairCounts = new int[1];
+    private float[] contactDist = new float[128];
+
     // nivelación UI
     private boolean levelUpModalOpen = false;
     private final Queue<Integer> pendingLevelUps = new ArrayDeque<>();
     private List<Choice> currentChoices = new ArrayList<>();
 
-    // random
-    private final Random rnd = new Random();
+    // random: un flujo por subsistema, todos de la misma semilla
+    private final RngService rng;
 
     // configuración de balance
     private final int BASE_SPAWN = 15;
     private final float SCALE_PER_CLEAR = 0.5f; // cada clear aumenta en +50%
 
     // evento UI
-    private GameEventListener eventListener;
+    private GameEventListener eventListener = GameEventListener.NONE;
 
+    // sin audio: para tests, bots y el runtime sin ventana
     public GameController(BinaryTree<MineRoom> map, BinaryTreeNode<MineRoom> start) {
+        this(map, start, AudioSink.NONE);
+    }
+
+    public GameController(BinaryTree<MineRoom> map, BinaryTreeNode<MineRoom> start, AudioSink audio) {
+        this(map, start, audio, RngService.fromSystem());
+    }
+
+    // para repetir una partida, rng debe tener la misma semilla con la que se construyo el mapa
+    public GameController(BinaryTree<MineRoom> map, BinaryTreeNode<MineRoom> start, AudioSink audio, RngService rng) {
         this.map = map;
+        this.audio = audio != null ? audio : AudioSink.NONE;
+        this.rng = rng;
         // si start es null o es la raíz, intentar usar una hoja aleatoria
         BinaryTreeNode<MineRoom> resolvedStart = start;
         try {
             if (resolvedStart == null) {
-                resolvedStart = SimpleMapBuilder.pickRandomLeaf(map);
+                resolvedStart = SimpleMapBuilder.pickRandomLeaf(map, rng.stream(RngService.Stream.MAP));
             }
             else {
                 TreeNode<MineRoom> root = map != null ? map.getRoot() : null;
                 if (root instanceof BinaryTreeNode && ((BinaryTreeNode<MineRoom>) root).equals(resolvedStart)) {
-                    BinaryTreeNode<MineRoom> leaf = SimpleMapBuilder.pickRandomLeaf(map);
+                    BinaryTreeNode<MineRoom> leaf = SimpleMapBuilder.pickRandomLeaf(map, rng.stream(RngService.Stream.MAP));
                     if (leaf != null) {
                         resolvedStart = leaf;
                     }
@@ -84,23 +121,18 @@ public class GameController {
             resolvedStart = start;
         }
 
-        try {
-            backgroundMusic = new BackgroundMusic("music/background.wav");
-            // La música se inicia automáticamente en bucle en el constructor
-
-        } catch (Exception e) {
-            System.err.println("No se pudo inicializar la música: " + e.getMessage());
-        }
+        this.audio.startBackground();
 
         this.nodoActual = resolvedStart;
-        this.pool = new PerkPool();
+        this.pool = new PerkPool(rng.stream(RngService.Stream.PERK));
         MineRoom r = nodoActual != null ? nodoActual.getInfo() : null;
         if (r == null) {
-            r = new MineRoom(0, 800, 600);
+            r = new MineRoom(0, 800, 600, rng.stream(RngService.Stream.MAP));
             this.nodoActual = new BinaryTreeNode<>(r);
         }
         this.player = new Player(r.width / 2f, r.height - 60f, pool);
-        this.enemyManager = new EnemyManager(map);
+        this.enemyManager = new EnemyManager(map, rng.stream(RngService.Stream.SPAWN));
+        this.enemyManager.setRoomEventListener(this);
 
         player.recomputeDerivedStats();
         onPlayerEnter(nodoActual);
@@ -108,99 +140,59 @@ public class GameController {
 
     }
 
+    // partida nueva a partir de la semilla: misma semilla y misma altura dan el mismo mapa y la misma sala inicial
+    public static GameController newGame(RngService rng, int height, int roomW, int roomH, AudioSink audio) {
+        SplittableRandom mapRng = rng.stream(RngService.Stream.MAP);
+        BinaryTree<MineRoom> map = SimpleMapBuilder.buildProceduralArrayMap(height, roomW, roomH, mapRng);
+        BinaryTreeNode<MineRoom> start = SimpleMapBuilder.pickRandomLeaf(map, mapRng);
+        if (start == null && map.getRoot() instanceof BinaryTreeNode) {
+            start = (BinaryTreeNode<MineRoom>) map.getRoot();
+        }
+        return new GameController(map, start, audio, rng);
+    }
+
     // EventListener
 
     public synchronized void setGameEventListener(GameEventListener l) {
-        this.eventListener = l;
+        this.eventListener = l != null ? l : GameEventListener.NONE;
     }
 
-    private void notifyWin() {
-
-        if (backgroundMusic != null) {
-            backgroundMusic.stop();
-        }
-
-        if (!victoryMusicPlayed) {
-            try {
-                // Crear la música de derrota sin autoPlay
-                victoryMusic = new BackgroundMusic("music/victory.wav", false);
-                // Reproducir solo una vez
-                victoryMusic.playOnce();
-                victoryMusicPlayed= true;
-
-                // Añadir un listener para saber cuándo termina
-                try {
-                    // Necesitamos acceder al Clip interno para añadir el listener
-                    java.lang.reflect.Field clipField = BackgroundMusic.class.getDeclaredField("clip");
-                    clipField.setAccessible(true);
-                    Clip clip = (Clip) clipField.get(victoryMusic);
-
-                    clip.addLineListener(event -> {
-                        if (event.getType() == javax.sound.sampled.LineEvent.Type.STOP) {
-                            // Cuando termine, cerrar el clip para liberar recursos
-                            clip.close();
-                        }
-                    });
-                } catch (Exception e) {
-                    // Si no podemos acceder al clip, ignorar
-                }
-
-            } catch (Exception e) {
-                System.err.println("Error al reproducir música de derrota: " + e.getMessage());
-            }
-        }
-
-        if (eventListener != null) {
-            SwingUtilities.invokeLater(() -> eventListener.onWin());
-
+    // el listener decide en que hilo atiende el evento (GameWindow lo pasa al EDT)
+    // cada aviso sale una sola vez: el hilo de simulacion no espera a que la ventana cambie de panel
+    private synchronized void notifyWin() {
+        if (ended) {
+            return;
         }
+        ended = true;
+        audio.playVictory();
+        eventListener.onWin();
     }
 
     private synchronized void notifyGameOver() {
-
-
-        if (backgroundMusic != null) {
-            backgroundMusic.stop();
-        }
-
-        if (!loseMusicPlayed) {
-            try {
-                // Crear la música de derrota sin autoPlay
-                loseMusic = new BackgroundMusic("music/lose.wav", false);
-                // Reproducir solo una vez
-                loseMusic.playOnce();
-                loseMusicPlayed = true;
-
-                // Añadir un listener para saber cuándo termina
-                try {
-                    // Necesitamos acceder al Clip interno para añadir el listener
-                    java.lang.reflect.Field clipField = BackgroundMusic.class.getDeclaredField("clip");
-                    clipField.setAccessible(true);
-                    Clip clip = (Clip) clipField.get(loseMusic);
-
-                    clip.addLineListener(event -> {
-                        if (event.getType() == javax.sound.sampled.LineEvent.Type.STOP) {
-                            // Cuando termine, cerrar el clip para liberar recursos
-                            clip.close();
-                        }
-                    });
-                } catch (Exception e) {
-                    // Si no podemos acceder al clip, ignorar
-                }
-
-            } catch (Exception e) {
-                System.err.println("Error al reproducir música de derrota: " + e.getMessage());
-            }
+        if (ended) {
+            return;
         }
+        ended = true;
+        audio.playLose();
+        eventListener.onGameOver();
+    }
 
-        if (eventListener != null) {
-            SwingUtilities.invokeLater(() -> eventListener.onGameOver());
-        }
+    // victoria o derrota ya avisadas; desde aqui la partida no avanza
+    public boolean isEnded() {
+        return ended;
     }
 
     // Update loop
 
     public void update(float dt, List<Rectangle> roomWalls) {
+        if (ended) {
+            return;
+        }
+        updateFrame(dt, roomWalls);
+        enemyManager.commitRemovals();
+    }
+
+    private void updateFrame(float dt, List<Rectangle> roomWalls) {
         // si modal abierto, solo animar effects
         // defensa: si la pausa fue activada externamente, no ejecutar update
 
@@ -224,7 +216,7 @@ public class GameController {
 
         // Puertas (transición)
         boolean doorTransition = false;
-        for (Door door : new ArrayList<>(room.doors)) {
+        for (Door door : room.doors) {
             if (player.getBounds().intersects(door.area) && !door.locked) {
                 if (door.isWin) {
                     notifyWin();
@@ -246,14 +238,14 @@ public class GameController {
         updateProjectiles(dt);
 
         // actualizar enemigos
-        List<Enemy> enemies = new ArrayList<>(enemyManager.getEnemiesAt(nodoActual));
-        for (Enemy e : enemies) {
-            e.update(dt, player, room);
-        }
+        List<Enemy> enemies = enemyManager.getEnemiesAt(nodoActual);
+        boolean parallel = parallelSimulation && enemies.size() >= PARALLEL_MIN_ENEMIES;
+        enemyManager.updateEnemies(nodoActual, dt, player, room, roomWalls, parallel ? simulationPool : null, PARALLEL_GRAIN);
 
         // colisiones
-        resolveEnemyEnemyCollisions(enemies, dt);
-        resolveEnemyPlayerCollisions(enemies, dt);
+        resolveEnemyEnemyCollisions(enemies, dt, parallel);
+        resolveEnemyPlayerCollisions(enemies, dt, parallel);
+        enemyManager.refreshGrid(nodoActual);
 
         // actualizar jugador (disparos)
         player.update(dt, enemies, this);
@@ -268,13 +260,12 @@ public class GameController {
         collectCrystals(room);
         collectKeys(room);
 
-        handleRoomClearedIfNeeded(nodoActual);
-
-        // Si sala limpia, spawnear nueva oleada escalada
-        if (enemyManager.isCleared(nodoActual)) {
-            if (!isRootWithActiveBoss(nodoActual)) {
-                int baseAmount = calculateSpawnAmountForNode(nodoActual);
-                spawnHordeScaled(nodoActual, baseAmount, Math.max(room.width, room.height) * 0.9f);
+        // la sala se despejo durante este tick (evento de EnemyManager)
+        if (clearedRoom != null) {
+            BinaryTreeNode<MineRoom> cleared = clearedRoom;
+            clearedRoom = null;
+            if (cleared == nodoActual) {
+                handleRoomCleared(nodoActual);
             }
         }
 
@@ -324,21 +315,17 @@ public class GameController {
         }
     }
 
-    public void renderProjectiles(Graphics g, int screenW, int screenH) {
-        MineRoom r = nodoActual != null ? nodoActual.getInfo() : null;
-        if (r != null) {
-            int ox = (screenW - r.width) / 2;
-            int oy = (screenH - r.height) / 2 - 20;
-            Graphics2D g2 = (Graphics2D) g.create();
-            g2.translate(ox, oy);
-            for (Projectile p : projectiles) {
-                p.render(g2);
-            }
-            for (Effect ef : effects) {
-                ef.render(g2);
+    // copia proyectiles y efectos para el snapshot de render, desde el hilo de simulacion
+    public void captureProjectiles(List<Projectile> projectilesOut, List<Projectile> effectsOut) {
+        projectilesOut.clear();
+        effectsOut.clear();
+        for (Projectile p : projectiles) {
+            projectilesOut.add(p.renderCopy());
+        }
+        for (Effect ef : effects) {
+            if (ef instanceof Projectile) {
+                effectsOut.add(((Projectile) ef).renderCopy());
             }
-            g2.translate(-ox, -oy);
-            g2.dispose();
         }
     }
 
@@ -346,19 +333,23 @@ public class GameController {
 
     private void collectCrystals(MineRoom room) {
         if (room != null) {
-            List<Crystal> toRemove = new ArrayList<>();
-            for (Crystal c : new ArrayList<>(room.drops)) {
-                if (!c.collected) {
-                    float dx = player.x - c.x;
-                    float dy = player.y - c.y;
-                    if (dx * dx + dy * dy < 20f * 20f) {
-                        c.collected = true;
-                        toRemove.add(c);
-                        player.addXp(c.value, this);
-                    }
+            // compactar en el sitio y devolver al pool los recogidos
+            List<Crystal> drops = room.drops;
+            int kept = 0;
+            for (int i = 0; i < drops.size(); i++) {
+                Crystal c = drops.get(i);
+                float dx = player.x - c.x;
+                float dy = player.y - c.y;
+                if (!c.collected && dx * dx + dy * dy < 20f * 20f) {
+                    c.collected = true;
+                    player.addXp(c.value, this);
+                    enemyManager.releaseCrystal(c);
+                }
+                else {
+                    drops.set(kept++, c);
                 }
             }
-            room.drops.removeAll(toRemove);
+            drops.subList(kept, drops.size()).clear();
         }
     }
 
@@ -387,6 +378,10 @@ public class GameController {
         }
     }
 
+    public RngService getRng() {
+        return rng;
+    }
+
     public boolean isLevelUpModalOpen() {
         return levelUpModalOpen;
     }
@@ -438,36 +433,20 @@ public class GameController {
                 // dropear cristales en la habitacion
                 MineRoom room = node.getInfo();
                 if (room != null) {
-                    //  Si es un BossEnemy, dropear la llave dorada en una sala aleatoria
-                    if (e instanceof BossEnemy) {
-                        BinaryTreeNode<MineRoom> randomNode = SimpleMapBuilder.pickRandomNonRootNode(map);
-                        if (randomNode != null) {
-                            MineRoom randomRoom = randomNode.getInfo();
-                            if (randomRoom != null) {
-                                // Posición aleatoria dentro de la sala
-                                int margin = 60;
-                                float kx = margin + rnd.nextFloat() * Math.max(1, randomRoom.width - margin * 2);
-                                float ky = margin + rnd.nextFloat() * Math.max(1, randomRoom.height - margin * 2);
-                                Key goldenKey = new Key(kx, ky, "golden-key");
-                                randomRoom.keys.add(goldenKey);
-
-                            }
-                        }
-                    }
-
                     int basePerLevel = 4; // gemas base por nivel de enemigo
                     int variance = 2;
                     int clearMultiplier = 1 + Math.max(0, room.clearCount);
-                    int numCrystals = Math.max(1, (basePerLevel * Math.max(1, e.level) * clearMultiplier) / 2);
+                    int numCrystals = Math.max(1, (basePerLevel * Math.max(1, e.getLevel()) * clearMultiplier) / 2);
 
                     float ex = e.getX();
                     float ey = e.getY();
 
+                    SplittableRandom rnd = rng.stream(RngService.Stream.DROP);
                     for (int i = 0; i < numCrystals; i++) {
                         float rx = ex + (rnd.nextFloat() - 0.5f) * 30f;
                         float ry = ey + (rnd.nextFloat() - 0.5f) * 30f;
-                        int value = Math.max(1, basePerLevel + (e.level - 1) * 2 + rnd.nextInt(variance + 1));
-                        Crystal c = new Crystal(rx, ry, value);
+                        int value = Math.max(1, basePerLevel + (e.getLevel() - 1) * 2 + rnd.nextInt(variance + 1));
+                        Crystal c = enemyManager.obtainCrystal(rx, ry, value, rnd.nextInt(Crystal.VARIANTS));
                         room.drops.add(c);
                     }
                 }
@@ -481,29 +460,51 @@ public class GameController {
 
     // Manejo de sala despejada y generación escalada
 
-    private void handleRoomClearedIfNeeded(BinaryTreeNode<MineRoom> node) {
-        if (node != null) {
-            MineRoom room = node.getInfo();
-            if (room != null) {
-                boolean cleared = enemyManager.isCleared(node);
-                if (!cleared) {
-                    room.wasCleared = false;
-                }
-                else {
-                    // si está despejada y no fue marcada previamente en este fotograma, incrementar clearCount
-                    if (!room.wasCleared) {
-                        room.wasCleared = true;
-                        room.clearCount = Math.max(0, room.clearCount) + 1;
-                        //Otorgar bonificación de XP/cristales al evento de limpieza
-                        int bonus = 2 + room.clearCount / 2;
-                        for (int i = 0; i < bonus; i++) {
-                            float rx = room.width / 2f + (rnd.nextFloat() - 0.5f) * 48f;
-                            float ry = room.height / 2f + (rnd.nextFloat() - 0.5f) * 48f;
-                            int val = 4 + rnd.nextInt(3) + room.clearCount;
-                            room.drops.add(new Crystal(rx, ry, val));
-                        }
-                    }
-                }
+    // Se llama desde Enemy.damage, asi que aqui solo se anota la sala; el bonus y la nueva oleada van en update
+    @Override
+    public void onRoomCleared(BinaryTreeNode<MineRoom> node) {
+        clearedRoom = node;
+    }
+
+    //  Si es un BossEnemy, dropear la llave dorada en una sala aleatoria
+    @Override
+    public void onBossDefeated(BinaryTreeNode<MineRoom> node, BossEnemy boss) {
+        SplittableRandom rnd = rng.stream(RngService.Stream.MAP);
+        BinaryTreeNode<MineRoom> randomNode = SimpleMapBuilder.pickRandomNonRootNode(map, rnd);
+        if (randomNode != null) {
+            MineRoom randomRoom = randomNode.getInfo();
+            if (randomRoom != null) {
+                // Posición aleatoria dentro de la sala
+                int margin = 60;
+                float kx = margin + rnd.nextFloat() * Math.max(1, randomRoom.width - margin * 2);
+                float ky = margin + rnd.nextFloat() * Math.max(1, randomRoom.height - margin * 2);
+                Key goldenKey = enemyManager.obtainKey(kx, ky, "golden-key");
+                randomRoom.keys.add(goldenKey);
+
+            }
+        }
+    }
+
+    private void handleRoomCleared(BinaryTreeNode<MineRoom> node) {
+        MineRoom room = node != null ? node.getInfo() : null;
+        if (room != null) {
+            room.wasCleared = true;
+            room.clearCount = Math.max(0, room.clearCount) + 1;
+            //Otorgar bonificación de XP/cristales al evento de limpieza
+            int bonus = 2 + room.clearCount / 2;
+            SplittableRandom rnd = rng.stream(RngService.Stream.DROP);
+            for (int i = 0; i < bonus; i++) {
+                float rx = room.width / 2f + (rnd.nextFloat() - 0.5f) * 48f;
+                float ry = room.height / 2f + (rnd.nextFloat() - 0.5f) * 48f;
+                int val = 4 + rnd.nextInt(3) + room.clearCount;
+                room.drops.add(enemyManager.obtainCrystal(rx, ry, val, rnd.nextInt(Crystal.VARIANTS)));
+            }
+
+            // Si sala limpia, spawnear nueva oleada escalada
+            if (!isRootWithActiveBoss(node)) {
+                int baseAmount = calculateSpawnAmountForNode(node);
+                spawnHordeScaled(node, baseAmount, Math.max(room.width, room.height) * 0.9f);
+                room.wasCleared = false;
             }
         }
     }
@@ -520,13 +521,7 @@ public class GameController {
                 }
                 else {
                     // Si no se ha marcado bossSpawned, verificar si hay un boss vivo actualmente
-                    List<Enemy> list = enemyManager.getEnemiesAt(node);
-                    for (Enemy e : list) {
-                        if (e instanceof BossEnemy && e.isAlive()) {
-                            result = true;
-                            break;
-                        }
-                    }
+                    result = enemyManager.getBossCount(node) > 0;
                 }
             }
         }
@@ -577,7 +572,11 @@ public class GameController {
                 float cy = r.height / 2f;
                 float dist = Math.max(48f, Math.min(spawnDistance, Math.max(r.width, r.height)));
 
-                List<Enemy> spawnList = new ArrayList<>();
+                //Escalar el nivel del enemigo por altura de subarbol
+                int subtreeH = subtreeHeight(node);
+                int maxLevel = Math.max(1, subtreeH + 1);
+                SplittableRandom rnd = rng.stream(RngService.Stream.SPAWN);
+
                 for (int i = 0; i < amount; i++) {
                     double ang = rnd.nextDouble() * Math.PI * 2.0;
                     double rad = dist * (0.8 + rnd.nextDouble() * 0.4);
@@ -605,18 +604,10 @@ public class GameController {
                         }
                     }
 
-                    //Escalar el nivel del enemigo por altura de subarbol
-                    int subtreeH = subtreeHeight(node);
-                    int maxLevel = Math.max(1, subtreeH + 1);
                     int level = 1 + rnd.nextInt(maxLevel);
                     int baseHp = 20 + level * 8;
                     float baseSpeed = 20f + level * 4f;
-                    Enemy e = new Enemy(node, sx, sy, baseHp, baseSpeed, level);
-                    spawnList.add(e);
-                }
-
-                for (Enemy e : spawnList) {
-                    enemyManager.addEnemyAt(node, e);
+                    enemyManager.addEnemyAt(node, enemyManager.obtainEnemy(node, sx, sy, baseHp, baseSpeed, level));
                 }
             }
         }
@@ -625,16 +616,7 @@ public class GameController {
     private int subtreeHeight(BinaryTreeNode<MineRoom> node) {
         int result = -1;
         if (node != null) {
-            BinaryTreeNode<MineRoom> left = node.getLeft();
-            BinaryTreeNode<MineRoom> right = node.getRight();
-            if (left == null && right == null) {
-                result = 0;
-            }
-            else {
-                int hl = left != null ? subtreeHeight(left) : -1;
-                int hr = right != null ? subtreeHeight(right) : -1;
-                result = 1 + Math.max(hl, hr);
-            }
+            result = map != null ? map.subtreeHeight(node) : AugmentedBinaryTreeNode.heightOf(node);
         }
         return result;
     }
@@ -730,6 +712,7 @@ public class GameController {
                             }
                         }
 
+                        enemyManager.suspendRoom(origenNode);
                         this.nodoActual = destinoNode;
                         this.player.x = spawnX;
                         this.player.y = spawnY;
@@ -754,19 +737,13 @@ public class GameController {
 
     public void onPlayerEnter(BinaryTreeNode<MineRoom> node) {
         if (node != null) {
+            enemyManager.resumeRoom(node);
             MineRoom r = node.getInfo();
             if (r != null && !r.colapsado) {
                 BinaryTreeNode<MineRoom> rootT = (BinaryTreeNode<MineRoom>) map.getRoot();
                 if (rootT != null && node.equals(rootT)) {
                     // spawn boss si no está presente
-                    boolean bossExists = false;
-                    List<Enemy> existing = enemyManager.getEnemiesAt(node);
-                    for (Enemy e : existing) {
-                        if (e instanceof BossEnemy && e.isAlive()) {
-                            bossExists = true;
-                            break;
-                        }
-                    }
+                    boolean bossExists = enemyManager.getBossCount(node) > 0;
                     if (!bossExists && !r.bossSpawned) {
                         float sx = r.width / 2f;
                         float sy = r.height / 2f;
@@ -777,8 +754,7 @@ public class GameController {
                     }
                 }
                 else {
-                    List<Enemy> existing = enemyManager.getEnemiesAt(node);
-                    if (existing.isEmpty()) {
+                    if (enemyManager.isCleared(node)) {
                         int amount = calculateSpawnAmountForNode(node);
                         spawnHordeScaled(node, amount, Math.max(r.width, r.height) * 0.9f);
                     }
@@ -799,38 +775,349 @@ public class GameController {
     }
 
     // Colision de enemigos
-    private void resolveEnemyEnemyCollisions(List<Enemy> enemies, float dt) {
+    // Mismos empujes que el doble bucle (i, j) original: se resuelve sobre copias de las posiciones y solo se
+    // escribe al final. Un par descartado por el barrido (separado mas de reach en x o en y) solo puede
+    // entrar en rango si en algun momento los dos se alejaron de su posicion inicial mas de reach - minDist
+    // entre ambos. Si pudo pasar (hordas apretadas), se repite desde el principio con la rejilla exacta.
+    void resolveEnemyEnemyCollisions(List<Enemy> enemies, float dt, boolean parallel) {
         int n = enemies.size();
+        float minDist = ENEMY_MIN_DIST;
+        if (sweepOrder.length < n) {
+            int cap = Math.max(n, sweepOrder.length * 2);
+            sweepOrder = new long[cap];
+            sepX = new float[cap];
+            sepY = new float[cap];
+            sepX0 = new float[cap];
+            sepY0 = new float[cap];
+            sepDev = new float[cap];
+            gridNext = new int[cap];
+            gridPrev = new int[cap];
+            gridCellOf = new int[cap];
+        }
+        int alive = 0;
         for (int i = 0; i < n; i++) {
-            Enemy a = enemies.get(i);
-            if (a.isAlive()) {
-                for (int j = i + 1; j < n; j++) {
-                    Enemy b = enemies.get(j);
-                    if (b.isAlive()) {
-                        float dx = b.getX() - a.getX();
-                        float dy = b.getY() - a.getY();
-                        float dist2 = dx * dx + dy * dy;
-                        float minDist = 18f;
-                        if (dist2 > 0f && dist2 < minDist * minDist) {
-                            float dist = (float) Math.sqrt(dist2);
-                            float overlap = (minDist - dist);
-                            float nx = dx / (dist + 1e-6f);
-                            float ny = dy / (dist + 1e-6f);
-                            float push = 0.5f * overlap;
-                            a.translate(-nx * push, -ny * push);
-                            b.translate(nx * push, ny * push);
+            Enemy e = enemies.get(i);
+            if (e.isAlive()) {
+                sepX0[i] = e.getX();
+                sepY0[i] = e.getY();
+                sweepOrder[alive++] = ((long) sortableBits(sepX0[i]) << 32) | i;
+            }
+        }
+        // claves distintas: el orden paralelo es identico al serie
+        if (parallel) {
+            Arrays.parallelSort(sweepOrder, 0, alive);
+        }
+        else {
+            Arrays.sort(sweepOrder, 0, alive);
+        }
+
+        float reach = minDist * 2f;
+        resetSeparation(alive);
+        if (!sepDense) {
+            int pairs = collectPairs(alive, reach, parallel);
+            float maxDev = resolvePairs(pairs, minDist);
+            // holgura por el redondeo de las sumas en float
+            sepDense = minDist + 2f * maxDev + 0.01f >= reach;
+            if (sepDense) {
+                resetSeparation(alive);
+                sepDense = resolveWithGrid(enemies, alive, minDist) >= reach;
+            }
+        }
+        else {
+            // vuelve al barrido cuando la rejilla indica que este habria bastado
+            sepDense = resolveWithGrid(enemies, alive, minDist) >= reach;
+        }
+
+        for (int s = 0; s < alive; s++) {
+            int i = (int) sweepOrder[s];
+            if (sepX[i] != sepX0[i] || sepY[i] != sepY0[i]) {
+                enemies.get(i).setPosition(sepX[i], sepY[i]);
+            }
+        }
+    }
+
+    private void resetSeparation(int alive) {
+        for (int s = 0; s < alive; s++) {
+            int i = (int) sweepOrder[s];
+            sepX[i] = sepX0[i];
+            sepY[i] = sepY0[i];
+            sepDev[i] = 0f;
+        }
+    }
+
+    // El doble bucle fila a fila, pero la fila i solo visita los j > i de la rejilla cercanos a i.
+    // Dentro de una fila solo se mueven i y cada j una vez, asi que un j a mas de minDist + d (por eje) de donde
+    // empezo i no lo alcanza mientras i derive menos de d; si deriva mas, la fila se repite con mas radio.
+    // devuelve el alcance que habria necesitado el barrido con estas posiciones
+    private float resolveWithGrid(List<Enemy> enemies, int alive, float minDist) {
+        buildSeparationGrid(alive, minDist);
+        float maxDev = 0f;
+        int n = enemies.size();
+        for (int i = 0; i < n; i++) {
+            if (!enemies.get(i).isAlive()) {
+                continue;
+            }
+            float x0 = sepX[i];
+            float y0 = sepY[i];
+            float d = 1f;
+            int count;
+            while (true) {
+                count = gatherCandidates(i, x0, y0, minDist + d);
+                Arrays.sort(sepCand, 0, count);
+                for (int k = 0; k < count; k++) {
+                    sepCandX[k] = sepX[sepCand[k]];
+                    sepCandY[k] = sepY[sepCand[k]];
+                }
+                float drift = 0f;
+                for (int k = 0; k < count; k++) {
+                    if (separate(i, sepCand[k], minDist)) {
+                        drift = Math.max(drift, Math.max(Math.abs(sepX[i] - x0), Math.abs(sepY[i] - y0)));
+                    }
+                }
+                if (drift + 0.01f < d) {
+                    break;
+                }
+                sepX[i] = x0;
+                sepY[i] = y0;
+                for (int k = 0; k < count; k++) {
+                    sepX[sepCand[k]] = sepCandX[k];
+                    sepY[sepCand[k]] = sepCandY[k];
+                }
+                d = drift * 2f + 1f;
+            }
+            moveInGrid(i);
+            maxDev = Math.max(maxDev, sepDev[i]);
+            for (int k = 0; k < count; k++) {
+                moveInGrid(sepCand[k]);
+                maxDev = Math.max(maxDev, sepDev[sepCand[k]]);
+            }
+        }
+        return minDist + 2f * maxDev + 0.01f;
+    }
+
+    private void buildSeparationGrid(int alive, float cell) {
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for (int s = 0; s < alive; s++) {
+            int i = (int) sweepOrder[s];
+            minX = Math.min(minX, sepX[i]);
+            minY = Math.min(minY, sepY[i]);
+            maxX = Math.max(maxX, sepX[i]);
+            maxY = Math.max(maxY, sepY[i]);
+        }
+        gridMinX = minX;
+        gridMinY = minY;
+        // fuera de la rejilla se cae en el borde: mas candidatos, mismo resultado
+        gridCols = Math.max(1, Math.min(SEP_GRID_MAX, (int) ((maxX - minX) / cell) + 1));
+        gridRows = Math.max(1, Math.min(SEP_GRID_MAX, (int) ((maxY - minY) / cell) + 1));
+        int cells = gridCols * gridRows;
+        if (gridHead.length < cells) {
+            gridHead = new int[Math.max(cells, gridHead.length * 2)];
+        }
+        Arrays.fill(gridHead, 0, cells, -1);
+        for (int s = 0; s < alive; s++) {
+            int i = (int) sweepOrder[s];
+            linkInGrid(i, gridCell(sepX[i], sepY[i]));
+        }
+    }
+
+    private int gridCol(float x) {
+        return Math.max(0, Math.min(gridCols - 1, (int) Math.floor((x - gridMinX) / ENEMY_MIN_DIST)));
+    }
+
+    private int gridRow(float y) {
+        return Math.max(0, Math.min(gridRows - 1, (int) Math.floor((y - gridMinY) / ENEMY_MIN_DIST)));
+    }
+
+    private int gridCell(float x, float y) {
+        return gridRow(y) * gridCols + gridCol(x);
+    }
+
+    private void linkInGrid(int i, int cell) {
+        int head = gridHead[cell];
+        gridNext[i] = head;
+        gridPrev[i] = -1;
+        if (head >= 0) {
+            gridPrev[head] = i;
+        }
+        gridHead[cell] = i;
+        gridCellOf[i] = cell;
+    }
+
+    private void moveInGrid(int i) {
+        int cell = gridCell(sepX[i], sepY[i]);
+        int old = gridCellOf[i];
+        if (cell == old) {
+            return;
+        }
+        if (gridPrev[i] >= 0) {
+            gridNext[gridPrev[i]] = gridNext[i];
+        }
+        else {
+            gridHead[old] = gridNext[i];
+        }
+        if (gridNext[i] >= 0) {
+            gridPrev[gridNext[i]] = gridPrev[i];
+        }
+        linkInGrid(i, cell);
+    }
+
+    // j > i a menos de r por eje de (x, y)
+    private int gatherCandidates(int i, float x, float y, float r) {
+        int count = 0;
+        int c0 = gridCol(x - r), c1 = gridCol(x + r);
+        int r0 = gridRow(y - r), r1 = gridRow(y + r);
+        for (int row = r0; row <= r1; row++) {
+            for (int col = c0; col <= c1; col++) {
+                for (int j = gridHead[row * gridCols + col]; j >= 0; j = gridNext[j]) {
+                    if (j > i && Math.abs(sepX[j] - x) <= r && Math.abs(sepY[j] - y) <= r) {
+                        if (count == sepCand.length) {
+                            int cap = count * 2;
+                            sepCand = Arrays.copyOf(sepCand, cap);
+                            sepCandX = Arrays.copyOf(sepCandX, cap);
+                            sepCandY = Arrays.copyOf(sepCandY, cap);
                         }
+                        sepCand[count++] = j;
                     }
                 }
             }
         }
+        return count;
     }
 
-    private void resolveEnemyPlayerCollisions(List<Enemy> enemies, float dt) {
-        for (Enemy e : enemies) {
+    // pares candidatos en orden (i, j), el mismo en que los visitaba el doble bucle
+    private int collectPairs(int alive, float reach, boolean parallel) {
+        int chunks = parallel ? Math.max(1, (alive + PARALLEL_GRAIN - 1) / PARALLEL_GRAIN) : 1;
+        if (chunkPairs.length < chunks) {
+            chunkPairs = Arrays.copyOf(chunkPairs, chunks);
+            chunkPairCounts = new int[chunks];
+        }
+        if (chunks == 1) {
+            sweepChunk(0, alive, alive, reach, 0);
+        }
+        else {
+            simulationPool.invoke(new ParallelRange(0, chunks, 1, (from, to) -> {
+                for (int c = from; c < to; c++) {
+                    sweepChunk(c * PARALLEL_GRAIN, Math.min(alive, (c + 1) * PARALLEL_GRAIN), alive, reach, c);
+                }
+            }));
+        }
+
+        int pairs = 0;
+        for (int c = 0; c < chunks; c++) {
+            pairs += chunkPairCounts[c];
+        }
+        if (sweepPairs.length < pairs) {
+            sweepPairs = new long[Math.max(pairs, sweepPairs.length * 2)];
+        }
+        int offset = 0;
+        for (int c = 0; c < chunks; c++) {
+            System.arraycopy(chunkPairs[c], 0, sweepPairs, offset, chunkPairCounts[c]);
+            offset += chunkPairCounts[c];
+        }
+        if (parallel) {
+            Arrays.parallelSort(sweepPairs, 0, pairs);
+        }
+        else {
+            Arrays.sort(sweepPairs, 0, pairs);
+        }
+        return pairs;
+    }
+
+    // devuelve cuanto llego a alejarse un enemigo de su posicion inicial (por eje) durante la pasada
+    private float resolvePairs(int pairs, float minDist) {
+        float maxDev = 0f;
+        for (int p = 0; p < pairs; p++) {
+            int a = (int) (sweepPairs[p] >>> 32);
+            int b = (int) sweepPairs[p];
+            if (separate(a, b, minDist)) {
+                maxDev = Math.max(maxDev, Math.max(sepDev[a], sepDev[b]));
+            }
+        }
+        return maxDev;
+    }
+
+    private boolean separate(int a, int b, float minDist) {
+        float dx = sepX[b] - sepX[a];
+        float dy = sepY[b] - sepY[a];
+        float dist2 = dx * dx + dy * dy;
+        if (dist2 > 0f && dist2 < minDist * minDist) {
+            float dist = (float) Math.sqrt(dist2);
+            float overlap = (minDist - dist);
+            float nx = dx / (dist + 1e-6f);
+            float ny = dy / (dist + 1e-6f);
+            float push = 0.5f * overlap;
+            sepX[a] += -nx * push;
+            sepY[a] += -ny * push;
+            sepX[b] += nx * push;
+            sepY[b] += ny * push;
+            sepDev[a] = Math.max(sepDev[a], Math.max(Math.abs(sepX[a] - sepX0[a]), Math.abs(sepY[a] - sepY0[a])));
+            sepDev[b] = Math.max(sepDev[b], Math.max(Math.abs(sepX[b] - sepX0[b]), Math.abs(sepY[b] - sepY0[b])));
+            return true;
+        }
+        return false;
+    }
+
+    // pares candidatos cuyo primer elemento en el orden por x esta en [from, to)
+    private void sweepChunk(int from, int to, int alive, float reach, int chunk) {
+        long[] out = chunkPairs[chunk];
+        if (out == null) {
+            out = new long[256];
+        }
+        int pairs = 0;
+        for (int s = from; s < to; s++) {
+            int i = (int) sweepOrder[s];
+            for (int t = s + 1; t < alive; t++) {
+                int j = (int) sweepOrder[t];
+                if (sepX[j] - sepX[i] > reach) {
+                    break;
+                }
+                if (Math.abs(sepY[j] - sepY[i]) <= reach) {
+                    if (pairs == out.length) {
+                        out = Arrays.copyOf(out, pairs * 2);
+                    }
+                    out[pairs++] = i < j ? ((long) i << 32) | j : ((long) j << 32) | i;
+                }
+            }
+        }
+        chunkPairs[chunk] = out;
+        chunkPairCounts[chunk] = pairs;
+    }
+
+    // bits del float que ordenan igual que el valor al compararlos con signo
+    private static int sortableBits(float v) {
+        int bits = Float.floatToIntBits(v);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    private void resolveEnemyPlayerCollisions(List<Enemy> enemies, float dt, boolean parallel) {
+        int n = enemies.size();
+        if (parallel) {
+            // distancias al jugador en paralelo; el bucle serie solo descarta con ellas
+            if (contactDist.length < n) {
+                contactDist = new float[Math.max(n, contactDist.length * 2)];
+            }
+            float px = player.x;
+            float py = player.y;
+            simulationPool.invoke(new ParallelRange(0, n, PARALLEL_GRAIN, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    Enemy e = enemies.get(i);
+                    float dx = px - e.getX();
+                    float dy = py - e.getY();
+                    contactDist[i] = (float) Math.sqrt(dx * dx + dy * dy);
+                }
+            }));
+        }
+        // cada contacto desplaza al jugador 1.5, lo que acota cuanto se pudo acercar a los siguientes
+        float moved = 0f;
+        for (int i = 0; i < n; i++) {
+            Enemy e = enemies.get(i);
+            if (parallel && contactDist[i] - moved > ENEMY_CONTACT_RADIUS + 0.01f) {
+                continue;
+            }
             if (e.isAlive()) {
                 if (e.intersectsPlayer(player)) {
-                    player.receiveDamage(e.contactDamage);
+                    player.receiveDamage(e.getContactDamage());
                     float dx = player.x - e.getX();
                     float dy = player.y - e.getY();
                     float d2 = dx * dx + dy * dy;
@@ -843,26 +1130,39 @@ public class GameController {
                     float nx = dx / d;
                     float ny = dy / d;
                     float basePlayerPush = 60f;
-                    float playerPushFactor = (1f - 0.12f * e.level);
+                    float playerPushFactor = (1f - 0.12f * e.getLevel());
                     player.applyKnockback(nx * basePlayerPush * playerPushFactor, ny * basePlayerPush * playerPushFactor);
                     float baseEnemyPush = 30f;
-                    float enemyPushFactor = (1f - 0.08f * e.level);
+                    float enemyPushFactor = (1f - 0.08f * e.getLevel());
                     e.applyKnockback(-nx * baseEnemyPush * enemyPushFactor, -ny * baseEnemyPush * enemyPushFactor);
                     player.x += nx * 1.5f;
                     player.y += ny * 1.5f;
                     e.translate(-nx * 1.5f, -ny * 1.5f);
+                    moved += 1.6f;
                 }
             }
         }
     }
 
+    public void setParallelSimulation(boolean parallelSimulation) {
+        this.parallelSimulation = parallelSimulation;
+    }
+
+    public boolean isParallelSimulation() {
+        return parallelSimulation;
+    }
+
+    public void setSimulationPool(ForkJoinPool pool) {
+        this.simulationPool = pool != null ? pool : ForkJoinPool.commonPool();
+    }
+
     public void collapseNode(BinaryTreeNode<MineRoom> node) {
         if (node != null) {
             MineRoom room = node.getInfo();
             if (room != null) {
                 room.colapsado = true;
             }
-            List<Enemy> enemies = new ArrayList<>(enemyManager.getEnemiesAt(node));
+            List<Enemy> enemies = enemyManager.getEnemiesAt(node);
             for (Enemy en : enemies) {
                 en.damage(9999, this);
                 enemyManager.removeEnemy(en);
@@ -870,7 +1170,7 @@ public class GameController {
             map.deleteNode(node);
             enemyManager.removeAllAt(node);
             if (nodoActual != null && nodoActual.equals(node)) {
-                BinaryTreeNode<MineRoom> leaf = SimpleMapBuilder.pickRandomLeaf(map);
+                BinaryTreeNode<MineRoom> leaf = SimpleMapBuilder.pickRandomLeaf(map, rng.stream(RngService.Stream.MAP));
                 if (leaf != null) {
                     nodoActual = leaf;
                     MineRoom rr = leaf.getInfo();
@@ -909,10 +1209,11 @@ public class GameController {
                     }
                 }
             }
-            // eliminar físicamente las keys colectadas de la sala
+            // eliminar físicamente las keys colectadas de la sala y reciclarlas
             for (Key k : toRemove) {
-                // quitar por id para evitar problemas de igualdad de referencias
-                room.removeKeyObjectById(k.id);
+                if (room.keys.remove(k)) {
+                    enemyManager.releaseKey(k);
+                }
             }
         }
     }
@@ -959,60 +1260,19 @@ public class GameController {
     // detener y limpiar si es necesario
     public void shutdown() {
         // limpiar listas para evitar referencias retenidas
-        loseMusicPlayed = false;
-        victoryMusicPlayed=false;
         projectiles.clear();
         effects.clear();
-        if (backgroundMusic != null) {
-            backgroundMusic.stop();
-            backgroundMusic.close();
-        }
-        if (backgroundMusic != null) {
-            backgroundMusic.close();
-        }
-        if (loseMusic != null) {
-            loseMusic.stop();
-            loseMusic.close();
-            loseMusic = null;
-        }
-        if (victoryMusic != null) {
-            victoryMusic.stop();
-            victoryMusic.close();
-            victoryMusic = null;
-        }
-    }
-
-    private void playLoseSoundOnce() {
-        try {
-            // Cargar y reproducir una sola vez sin usar BackgroundMusic
-            URL url = getClass().getClassLoader().getResource("music/lose.wav");
-            if (url != null) {
-                AudioInputStream audioIn = AudioSystem.getAudioInputStream(url);
-                Clip loseClip = AudioSystem.getClip();
-                loseClip.open(audioIn);
-
-                // Reproducir solo una vez
-                loseClip.start();
-
-                // Cerrar el clip cuando termine
-                loseClip.addLineListener(event -> {
-                    if (event.getType() == LineEvent.Type.STOP) {
-                        loseClip.close();
-                    }
-                });
-            }
-        } catch (Exception e) {
-            System.err.println("Error al reproducir sonido de derrota: " + e.getMessage());
-        }
+        audio.close();
     }
 
     public void reset() {
-        loseMusicPlayed = false;
+        audio.reset();
         // También podrías reiniciar otras cosas aquí
     }
 
     // campo
     private volatile boolean externallyPaused = false;
+    private volatile boolean ended = false;
 
     // setter público
     public void setExternallyPaused(boolean v) {
@@ -1,6 +1,21 @@
 package game;
 
 public interface GameEventListener {
+    // listener por defecto: nadie escucha
+    GameEventListener NONE = new GameEventListener() {
+        @Override
+        public void onWin() {
+        }
+
+        @Override
+        public void onGameOver() {
+        }
+
+        @Override
+        public void onExitToMenu() {
+        }
+    };
+
     void onWin();
 
     void onGameOver();
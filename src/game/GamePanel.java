@@ -1,15 +1,9 @@
 package game;
 
-import Tree.BinaryTreeNode;
 import entities.BossEnemy;
-import entities.Enemy;
-import entities.Player;
-import map.Crystal;
-import map.Door;
-import map.Key;
-import map.MineRoom;
 import menu.Choice;
 import utils.ResourceManager;
+import weapons.Projectile;
 
 import javax.swing.*;
 import java.awt.*;
@@ -20,7 +14,8 @@ import java.util.List;
 import static utils.ResourceManager.*;
 
 //panel principal del juego.
-//Ejecuta el loop (Swing Timer) y llama a game.GameController.update(dt,...)
+//La simulacion corre en su propio hilo (SimulationThread); el Swing Timer solo repinta
+//Dibuja el ultimo RenderSnapshot publicado y encola la entrada como SimCommand
 //Dibuja escena básica, barra de XP y modal de nivel
 //Ajusta constantes (WIDTH, HEIGHT, FPS)
 
@@ -35,7 +30,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
     private boolean up, down, left, right;
     private Point mousePos = new Point(0, 0);
 
-    private long lastTimeNs = System.nanoTime();
+    private SimulationThread simulation;
 
     private volatile boolean paused = false;
 
@@ -85,36 +80,35 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
             @Override
             public void actionPerformed(ActionEvent e) {
                 GamePanel.this.up = true;
-                GamePanel.this.updatePlayerFacingFromKeys();
+                GamePanel.this.postMove(0);
             }
         });
         am.put("up-release", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 GamePanel.this.up = false;
-                GamePanel.this.updatePlayerFacingFromKeys();
+                GamePanel.this.postMove(0);
             }
         });
         am.put("down-press", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 GamePanel.this.down = true;
-                GamePanel.this.updatePlayerFacingFromKeys();
+                GamePanel.this.postMove(0);
             }
         });
         am.put("down-release", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 GamePanel.this.down = false;
-                GamePanel.this.updatePlayerFacingFromKeys();
+                GamePanel.this.postMove(0);
             }
         });
         am.put("left-press", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 GamePanel.this.left = true;
-                controller.player.setFacingLeft(); // <-- aquí debe ser izquierda
-                GamePanel.this.updatePlayerFacingFromKeys();
+                GamePanel.this.postMove(-1); // <-- aquí debe ser izquierda
             }
         });
 
@@ -122,7 +116,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
             @Override
             public void actionPerformed(ActionEvent e) {
                 GamePanel.this.left = false;
-                GamePanel.this.updatePlayerFacingFromKeys();
+                GamePanel.this.postMove(0);
             }
         });
 
@@ -130,8 +124,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
             @Override
             public void actionPerformed(ActionEvent e) {
                 GamePanel.this.right = true;
-                controller.player.setFacingRight(); // correcto: derecha
-                GamePanel.this.updatePlayerFacingFromKeys();
+                GamePanel.this.postMove(1); // correcto: derecha
             }
         });
 
@@ -139,61 +132,49 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
             @Override
             public void actionPerformed(ActionEvent e) {
                 GamePanel.this.right = false;
-                GamePanel.this.updatePlayerFacingFromKeys();
+                GamePanel.this.postMove(0);
             }
         });
+        simulation = new SimulationThread(controller);
         timer = new Timer(1000 / FPS, this);
         timer.setCoalesce(true);
-        timer.start();
     }
 
-    @Override
-    public void actionPerformed(ActionEvent e) {
-        long now = System.nanoTime();
-        float dt = Math.max(1f / 120f, (now - lastTimeNs) / 1_000_000_000f);
-        lastTimeNs = now;
-
-        if (!paused) {
-            if (!controller.isLevelUpModalOpen()) {
-                applyPlayerInput(dt);
-            } else {
-
-            }
-            controller.update(dt, null);
+    // arranca el hilo de simulacion y el repintado (GameWindow lo llama al mostrar la ventana)
+    public void startLoop() {
+        if (simulation == null || !simulation.isAlive() && simulation.getState() != Thread.State.NEW) {
+            simulation = new SimulationThread(controller);
         }
+        if (simulation.getState() == Thread.State.NEW) {
+            simulation.start();
+        }
+        if (!timer.isRunning()) {
+            timer.start();
+        }
+    }
 
-        repaint();
+    // graba la partida desde el principio: llamar antes de startLoop()
+    public void setInputRecorder(InputRecorder recorder) {
+        simulation.setRecorder(recorder);
     }
 
-    private void applyPlayerInput(float dt) {
-        Player p = controller.player;
-        float beforeX = p.x, beforeY = p.y;
-        float moveSpeed = 140f * p.moveSpeedMultiplier;
-        float vx = 0f, vy = 0f;
-        if (left)
-            vx -= moveSpeed;
-        if (right)
-            vx += moveSpeed;
-        if (up)
-            vy -= moveSpeed;
-        if (down)
-            vy += moveSpeed;
-        p.x += vx * dt;
-        p.y += vy * dt;
-        BinaryTreeNode<MineRoom> node = controller.nodoActual;
-        if (node != null) {
-            MineRoom r = node.getInfo();
-            if (r != null) {
-                p.x = Math.max(8f, Math.min(r.width - 8f, p.x));
-                p.y = Math.max(8f, Math.min(r.height - 8f, p.y));
-            }
+    public void stopLoop() {
+        timer.stop();
+        if (simulation != null) {
+            simulation.shutdown();
         }
     }
 
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        repaint();
+    }
+
     @Override
     protected void paintComponent(Graphics g0) {
         super.paintComponent(g0);
         Graphics2D g = (Graphics2D) g0.create();
+        RenderSnapshot snap = simulation.latestSnapshot();
 
         int w = getWidth();
         int h = getHeight();
@@ -216,38 +197,34 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
         }
 
         // Dibujar room background + doors
-        drawRoomBackground(g);
+        drawRoomBackground(g, snap);
 
         // Dibujar enemigos
-        drawEnemies(g);
+        drawEnemies(g, snap);
 
         // Dibujar player
-        drawPlayer(g);
+        drawPlayer(g, snap);
 
         // Dibujar crystals y keys
-        drawCrystals(g);
-        drawKeys(g);
+        drawCrystals(g, snap);
+        drawKeys(g, snap);
 
         // Dibujar projectiles
-        controller.renderProjectiles(g, w, h);
+        drawProjectiles(g, snap, w, h);
 
         // Dibujar XP bar
-        drawXpBar(g, w, h);
+        drawXpBar(g, snap, w, h);
 
         // Dibujar level-up modal
-        if (controller.isLevelUpModalOpen()) {
-            drawLevelUpModal(g, w, h);
+        if (snap.levelUpModalOpen) {
+            drawLevelUpModal(g, snap, w, h);
         }
 
         g.dispose();
     }
 
-    private void drawRoomBackground(Graphics2D g) {
-        BinaryTreeNode<MineRoom> node = controller.nodoActual;
-        if (node == null)
-            return;
-        MineRoom r = node.getInfo();
-        if (r == null)
+    private void drawRoomBackground(Graphics2D g, RenderSnapshot s) {
+        if (!s.hasRoom)
             return;
 
         int roomW = 890;
@@ -258,7 +235,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
         g.translate(ox, oy);
 
         // Seleccionar sprite de piso según tipo definido en la sala
-        BufferedImage chosenFloor = switch (r.floorType) {
+        BufferedImage chosenFloor = switch (s.floorType) {
             case 1 -> floor;
             default -> floor;
         };
@@ -280,14 +257,14 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
         }
 
         // Dibujar puertas
-        for (Door d : r.doors) {
-            Rectangle a = d.area;
+        for (int i = 0; i < s.doorCount; i++) {
+            Rectangle a = new Rectangle(s.doorX[i], s.doorY[i], s.doorW[i], s.doorH[i]);
             BufferedImage sprite = null;
 
-            if (d.isWin) {
+            if (s.doorWin[i]) {
                 sprite = finaldoor;
             } else {
-                sprite = switch (d.tipo) {
+                sprite = switch (s.doorTipo[i]) {
                     case 1 -> p1;
                     default -> p1;
                 };
@@ -297,7 +274,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
                 g.drawImage(sprite, a.x, a.y, a.width, 70, null);
             } else {
                 // fallback visual si no hay sprite
-                g.setColor(d.isWin ? new Color(80, 30, 30) : new Color(120, 90, 70));
+                g.setColor(s.doorWin[i] ? new Color(80, 30, 30) : new Color(120, 90, 70));
                 g.fillRect(a.x, a.y, a.width, a.height);
                 g.setColor(Color.BLACK);
                 g.drawRect(a.x, a.y, a.width, a.height);
@@ -311,32 +288,26 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
         g.translate(-ox, -oy);
     }
 
-    private void drawEnemies(Graphics2D g) {
-        BinaryTreeNode<MineRoom> node = controller.nodoActual;
-        if (node == null)
-            return;
-        MineRoom r = node.getInfo();
-        if (r == null)
+    private void drawEnemies(Graphics2D g, RenderSnapshot s) {
+        if (!s.hasRoom)
             return;
 
-        int roomW = r.width;
-        int roomH = r.height;
+        int roomW = s.roomWidth;
+        int roomH = s.roomHeight;
         int ox = (getWidth() - roomW) / 2;
         int oy = (getHeight() - roomH) / 2 - 20;
 
-        java.util.List<Enemy> enemies = controller.enemyManager.getEnemiesAt(node);
         g.translate(ox, oy);
 
-        for (Enemy en : enemies) {
-            if (en == null || !en.isAlive())
-                continue;
-
-            float ex = en.getX();
-            float ey = en.getY();
+        for (int i = 0; i < s.enemyCount; i++) {
+            float ex = s.enemyX[i];
+            float ey = s.enemyY[i];
+            int level = s.enemyLevel[i];
+            int animTick = s.enemyAnimTick[i];
             BufferedImage sprite = null;
 
-            if (en.level == 1) {
-                int frame = (en.getAnimTick() / 15) % 5;
+            if (level == 1) {
+                int frame = (animTick / 15) % 5;
                 sprite = switch (frame) {
                     case 0 -> ResourceManager.slime3;
                     case 1 -> ResourceManager.slime2;
@@ -345,17 +316,17 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
                     case 4 -> ResourceManager.slime5;
                     default -> ResourceManager.slime3;
                 };
-            } else if (en.level == 2) {
-                int frame = (en.getAnimTick() / 15) % 4;
+            } else if (level == 2) {
+                int frame = (animTick / 15) % 4;
                 sprite = switch (frame) {
                     case 0 -> ResourceManager.gob1;
                     case 1 -> ResourceManager.gob2;
                     case 2 -> ResourceManager.gob3;
                     default -> ResourceManager.gob1;
                 };
-            } else if (en.level == 3) {
+            } else if (level == 3) {
                 // Esqueleto: animación cíclica de 4 frames
-                int frame = (en.getAnimTick() / 15) % 4;
+                int frame = (animTick / 15) % 4;
                 sprite = switch (frame) {
                     case 0 -> ResourceManager.esq1;
                     case 1 -> ResourceManager.esq2;
@@ -363,7 +334,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
                     default -> ResourceManager.esq1;
                 };
             } else {
-                int frame = (en.getAnimTick() / 15) % 3;
+                int frame = (animTick / 15) % 3;
                 sprite = switch (frame) {
                     case 0 -> ResourceManager.boss1;
                     case 1 -> ResourceManager.boss2;
@@ -383,7 +354,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
             int bw = 30, bh = 4;
             int barX = (int) (ex - bw / 2);
             int barY = (int) (ey - 20);
-            float hpFrac = en.getMaxHp() > 0 ? Math.max(0f, Math.min(1f, (float) en.getHp() / en.getMaxHp())) : 0f;
+            float hpFrac = s.enemyHpFrac[i];
 
             g.setColor(new Color(0, 0, 0, 160));
             g.fillRect(barX, barY, bw, bh);
@@ -394,21 +365,14 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
         g.translate(-ox, -oy);
     }
 
-    private void drawPlayer(Graphics2D g) {
-        BinaryTreeNode<MineRoom> node = controller.nodoActual;
-        if (node == null)
-            return;
-        MineRoom r = node.getInfo();
-        if (r == null)
+    private void drawPlayer(Graphics2D g, RenderSnapshot s) {
+        if (!s.hasRoom)
             return;
 
-        int roomW = r.width;
-        int roomH = r.height;
+        int roomW = s.roomWidth;
+        int roomH = s.roomHeight;
         int ox = (getWidth() - roomW) / 2;
         int oy = (getHeight() - roomH) / 2 - 20;
-        Player p = controller.player;
-        if (p == null)
-            return;
 
         g.translate(ox, oy);
 
@@ -417,9 +381,9 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
         if (img != null) {
             BufferedImage sprite = null;
 
-            int frame = (p.getAnimTick() / 15) % 3; // ciclo de 3 frames
+            int frame = (s.playerAnimTick / 15) % 3; // ciclo de 3 frames
 
-            if (p.isFacingLeft()) {
+            if (s.playerFacingLeft) {
                 sprite = switch (frame) {
                     case 0 -> ResourceManager.devil1I;
                     case 1 -> ResourceManager.devil2I;
@@ -438,13 +402,13 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
             if (sprite != null) {
                 int drawW = sprite.getWidth();
                 int drawH = sprite.getHeight();
-                int dx = (int) (p.x - drawW / 2f);
-                int dy = (int) (p.y - drawH / 2f);
+                int dx = (int) (s.playerX - drawW / 2f);
+                int dy = (int) (s.playerY - drawH / 2f);
                 g.drawImage(sprite, dx, dy, drawW, drawH, null);
             }
         } else {
             g.setColor(new Color(200, 180, 120));
-            g.fillRect((int) (p.x - p.w / 2), (int) (p.y - p.h / 2), p.w, p.h);
+            g.fillRect((int) (s.playerX - s.playerW / 2), (int) (s.playerY - s.playerH / 2), s.playerW, s.playerH);
         }
 
         // HP barra
@@ -452,54 +416,62 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
         g.setColor(new Color(20, 20, 20, 180));
         g.fillRect(bx, by, bw, bh);
 
-        float hpFrac = p.maxHp > 0 ? (float) p.hp / p.maxHp : 0f;
+        float hpFrac = s.playerMaxHp > 0 ? (float) s.playerHp / s.playerMaxHp : 0f;
         g.setColor(new Color(200, 40, 40));
         g.fillRect(bx, by, Math.max(0, (int) (bw * hpFrac)), bh);
         g.setColor(Color.WHITE);
-        g.drawString("HP: " + p.hp + "/" + p.maxHp, bx + 4, by + bh - 1);
+        g.drawString("HP: " + s.playerHp + "/" + s.playerMaxHp, bx + 4, by + bh - 1);
 
         g.translate(-ox, -oy);
     }
 
-    private void drawCrystals(Graphics2D g) {
-        BinaryTreeNode<MineRoom> node = controller.nodoActual;
-        if (node == null)
-            return;
-        MineRoom r = node.getInfo();
-        if (r == null)
+    private void drawCrystals(Graphics2D g, RenderSnapshot s) {
+        if (!s.hasRoom)
             return;
-        int roomW = r.width;
-        int roomH = r.height;
+        int roomW = s.roomWidth;
+        int roomH = s.roomHeight;
         int ox = (getWidth() - roomW) / 2;
         int oy = (getHeight() - roomH) / 2 - 20;
         g.translate(ox, oy);
-        java.util.Random rnd = new java.util.Random();
-        for (Crystal c : r.drops) {
-            if (c.collected)
-                continue;
-            // Selección aleatoria de sprite
-            BufferedImage[] crystalSprites = {
-                    ResourceManager.c1,
-                    ResourceManager.c2,
-                    ResourceManager.c3,
-                    ResourceManager.c4,
-                    ResourceManager.c5
-            };
-            BufferedImage sprite = crystalSprites[rnd.nextInt(crystalSprites.length)];
+        BufferedImage[] crystalSprites = {
+                ResourceManager.c1,
+                ResourceManager.c2,
+                ResourceManager.c3,
+                ResourceManager.c4,
+                ResourceManager.c5
+        };
+        for (int i = 0; i < s.crystalCount; i++) {
+            // el sprite se sorteo al soltar el cristal, asi no parpadea entre frames
+            BufferedImage sprite = crystalSprites[s.crystalVariant[i] % crystalSprites.length];
             if (sprite != null) {
                 int drawW = sprite.getWidth();
                 int drawH = sprite.getHeight();
-                int dx = (int) (c.x - drawW / 2f);
-                int dy = (int) (c.y - drawH / 2f);
+                int dx = (int) (s.crystalX[i] - drawW / 2f);
+                int dy = (int) (s.crystalY[i] - drawH / 2f);
                 g.drawImage(sprite, dx, dy, drawW, drawH, null);
             }
         }
         g.translate(-ox, -oy);
     }
 
+    private void drawProjectiles(Graphics2D g, RenderSnapshot s, int screenW, int screenH) {
+        if (!s.hasRoom)
+            return;
+        int ox = (screenW - s.roomWidth) / 2;
+        int oy = (screenH - s.roomHeight) / 2 - 20;
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.translate(ox, oy);
+        for (Projectile p : s.projectiles) {
+            p.render(g2);
+        }
+        for (Projectile ef : s.effects) {
+            ef.render(g2);
+        }
+        g2.dispose();
+    }
+
     // Dibujar XP
-    private void drawXpBar(Graphics2D g, int screenW, int screenH) {
-        Player p = controller.player;
+    private void drawXpBar(Graphics2D g, RenderSnapshot s, int screenW, int screenH) {
         int barH = 24;
         int margin = 8;
         int x = margin;
@@ -509,18 +481,18 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
         g.fillRect(x, y, w, barH);
 
         float prog;
-        if (p.xpToNextLevel > 0)
-            prog = Math.max(0f, Math.min(1f, (float) p.currentXp / (float) p.xpToNextLevel));
+        if (s.playerXpToNext > 0)
+            prog = Math.max(0f, Math.min(1f, (float) s.playerXp / (float) s.playerXpToNext));
         else
             prog = 0f;
         g.setColor(new Color(14, 209, 255));
         g.fillRect(x + 2, y + 2, Math.max(0, (int) ((w - 4) * prog)), barH - 4);
         g.setColor(Color.WHITE);
-        g.drawString("Lv " + p.level + " XP: " + p.currentXp + "/" + p.xpToNextLevel, x + 8, y + barH - 6);
+        g.drawString("Lv " + s.playerLevel + " XP: " + s.playerXp + "/" + s.playerXpToNext, x + 8, y + barH - 6);
     }
 
-    private void drawLevelUpModal(Graphics2D g, int screenW, int screenH) {
-        List<Choice> choices = controller.getCurrentChoices();
+    private void drawLevelUpModal(Graphics2D g, RenderSnapshot s, int screenW, int screenH) {
+        List<Choice> choices = s.choices;
         if (choices == null || choices.isEmpty())
             return;
 
@@ -567,10 +539,10 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
             g.drawString(c.description, ox + 8, oy - 26);
 
             if (c.kind == Choice.Kind.WEAPON) {
-                int wl = controller.player.getWeaponLevel(c.id);
+                int wl = s.choiceLevel[i];
                 g.drawString("Nivel actual: " + wl, ox + 8, oy - 42);
             } else {
-                int st = controller.player.getPassiveStacks(c.id);
+                int st = s.choiceLevel[i];
                 g.drawString("Pilas: " + st, ox + 8, oy - 42);
             }
         }
@@ -598,7 +570,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
             changed = true;
         }
         if (changed)
-            updatePlayerFacingFromKeys();
+            postMove(0);
     }
 
     @Override
@@ -622,26 +594,21 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
             changed = true;
         }
         if (changed)
-            updatePlayerFacingFromKeys();
+            postMove(0);
     }
 
-    private void updatePlayerFacingFromKeys() {
-        // construye vector según combinación de teclas; si ninguna, no cambia facing
-        float dx = 0f, dy = 0f;
-        if (left)
-            dx -= 1f;
-        if (right)
-            dx += 1f;
+    // el facing y el movimiento los aplica el hilo de simulacion a partir de la mascara
+    private void postMove(int facing) {
+        int mask = 0;
         if (up)
-            dy -= 1f;
+            mask |= SimCommand.UP;
         if (down)
-            dy += 1f;
-        if (Math.abs(dx) < 1e-4f && Math.abs(dy) < 1e-4f) {
-            // ninguna tecla presionada: no actualizar facing para conservar la última
-            return;
-        }
-        // actualizar facing en el player
-        controller.player.setFacing(dx, dy);
+            mask |= SimCommand.DOWN;
+        if (left)
+            mask |= SimCommand.LEFT;
+        if (right)
+            mask |= SimCommand.RIGHT;
+        simulation.post(SimCommand.move(mask, facing));
     }
 
     @Override
@@ -651,19 +618,20 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
     @Override
     public void mouseClicked(MouseEvent e) {
         mousePos = e.getPoint();
-        if (controller.isLevelUpModalOpen()) {
+        RenderSnapshot s = simulation.latestSnapshot();
+        if (s.levelUpModalOpen) {
             int screenW = getWidth(), screenH = getHeight();
             int mw = 600, mh = 240;
             int mx = (screenW - mw) / 2, my = (screenH - mh) / 2;
             int optionW = mw / 3 - 24;
             int oxBase = mx + 16;
             int oy = my + 40;
-            List<Choice> choices = controller.getCurrentChoices();
+            List<Choice> choices = s.choices;
             for (int i = 0; i < choices.size(); i++) {
                 int ox = oxBase + i * (mw / 3);
                 Rectangle optRect = new Rectangle(ox, oy, optionW, mh - 64);
                 if (optRect.contains(mousePos)) {
-                    controller.onLevelUpChoiceSelected(i);
+                    simulation.post(SimCommand.levelChoice(i));
                     return;
                 }
             }
@@ -696,23 +664,17 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
         mousePos = e.getPoint();
     }
 
-    private void drawKeys(Graphics2D g) {
-        BinaryTreeNode<MineRoom> node = controller.nodoActual;
-        if (node == null)
+    private void drawKeys(Graphics2D g, RenderSnapshot s) {
+        if (!s.hasRoom)
             return;
-        MineRoom r = node.getInfo();
-        if (r == null)
-            return;
-        int roomW = r.width;
-        int roomH = r.height;
+        int roomW = s.roomWidth;
+        int roomH = s.roomHeight;
         int ox = (getWidth() - roomW) / 2;
         int oy = (getHeight() - roomH) / 2 - 20;
         g.translate(ox, oy);
-        for (Key kd : r.keys) {
-            if (kd == null || kd.collected)
-                continue;
-            int sx = (int) (kd.x);
-            int sy = (int) (kd.y);
+        for (int i = 0; i < s.keyCount; i++) {
+            int sx = (int) (s.keyX[i]);
+            int sy = (int) (s.keyY[i]);
             BufferedImage sprite = ResourceManager.key;
             if (sprite != null) {
                 int drawW = sprite.getWidth();
@@ -728,7 +690,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
                 g.drawRect(sx - 8, sy - 6, 16, 12);
             }
             g.setColor(Color.WHITE);
-            g.drawString(kd.id != null ? kd.id : "key", sx - 8, sy - 10);
+            g.drawString(s.keyId[i] != null ? s.keyId[i] : "key", sx - 8, sy - 10);
         }
         g.translate(-ox, -oy);
     }
@@ -759,11 +721,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
     }
 
     public void pause() {
-        try {
-            controller.setExternallyPaused(true);
-        } catch (Exception ex) {
-
-        }
+        simulation.post(SimCommand.pause(true));
 
         paused = true;
         try {
@@ -790,13 +748,8 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
         // reset de flags de entrada para evitar "stuck keys"
         resetInputState();
 
-        // notificar al controlador que puede aceptar updates externos (defensa en
-        // profundidad)
-        try {
-            controller.setExternallyPaused(false);
-        } catch (Exception ex) {
-            System.out.println("GamePanel.resume: no se pudo notificar a GameController (setExternallyPaused) - " + ex);
-        }
+        // el hilo de simulacion reanuda y avisa al controlador (setExternallyPaused)
+        simulation.post(SimCommand.pause(false));
 
         try {
             this.removeKeyListener(this);
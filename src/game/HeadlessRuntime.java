@@ -0,0 +1,161 @@
+package game;
+
+import utils.RngService;
+
+// GameController sin ventana, sin audio y sin hilo propio: avanza a paso fijo tan rapido como de la CPU.
+// Sirve para bots, pruebas de carga y medir el coste de la simulacion sin Swing de por medio.
+public class HeadlessRuntime implements GameEventListener {
+    public static final float DT = 1f / SimulationThread.SIM_HZ;
+
+    private final GameController controller;
+    private final RenderSink sink;
+    // cada cuantos ticks se captura y entrega un snapshot; 0 = nunca
+    private final int snapshotEvery;
+    private final RenderSnapshot snapshot = new RenderSnapshot();
+    private final PlayerInput input = new PlayerInput();
+    private InputRecorder recorder;
+
+    private long tick = 0;
+    private boolean paused = false;
+    private boolean won = false;
+    private boolean gameOver = false;
+    // sin nadie que haga click, el modal de subida de nivel congelaria la partida
+    private boolean autoLevelUp = true;
+
+    public HeadlessRuntime(GameController controller) {
+        this(controller, RenderSink.NONE, 0);
+    }
+
+    public HeadlessRuntime(GameController controller, RenderSink sink, int snapshotEvery) {
+        this.controller = controller;
+        this.sink = sink != null ? sink : RenderSink.NONE;
+        this.snapshotEvery = Math.max(0, snapshotEvery);
+        controller.setGameEventListener(this);
+    }
+
+    // misma semilla, misma partida tick a tick
+    public static HeadlessRuntime create(long seed, int height, int roomW, int roomH) {
+        return new HeadlessRuntime(GameController.newGame(new RngService(seed), height, roomW, roomH, AudioSink.NONE));
+    }
+
+    public void setAutoLevelUp(boolean autoLevelUp) {
+        this.autoLevelUp = autoLevelUp;
+    }
+
+    // graba la entrada de un bot; las elecciones automaticas de nivel tambien quedan grabadas
+    public void setRecorder(InputRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    // se aplica antes del siguiente tick, igual que en SimulationThread
+    public void apply(SimCommand c) {
+        if (recorder != null) {
+            recorder.record(tick, c);
+        }
+        switch (c.kind) {
+            case MOVE -> input.setMove(controller.player, c);
+            case LEVEL_CHOICE -> controller.onLevelUpChoiceSelected(c.value);
+            case PAUSE -> paused = true;
+            case RESUME -> paused = false;
+        }
+    }
+
+    public void tick() {
+        if (paused || isFinished()) {
+            return;
+        }
+        if (autoLevelUp && controller.isLevelUpModalOpen()) {
+            apply(SimCommand.levelChoice(0));
+        }
+        advance();
+    }
+
+    // un tick aunque el runtime este en pausa o la partida haya terminado (la reproduccion lleva su propio paso);
+    // con la partida terminada el controlador ya no cambia y solo cuenta el tick
+    void advance() {
+        if (!controller.isLevelUpModalOpen()) {
+            input.apply(controller, DT);
+        }
+        controller.update(DT, null);
+        tick++;
+        if (recorder != null) {
+            recorder.afterTick(tick, controller);
+        }
+        if (snapshotEvery > 0 && tick % snapshotEvery == 0) {
+            snapshot.capture(controller, tick);
+            sink.present(snapshot);
+        }
+    }
+
+    // avanza hasta n ticks o hasta que acabe la partida; devuelve los ticks simulados
+    public int step(int n) {
+        int done = 0;
+        while (done < n && !paused && !isFinished()) {
+            tick();
+            done++;
+        }
+        return done;
+    }
+
+    public boolean isFinished() {
+        return won || gameOver;
+    }
+
+    public boolean isWon() {
+        return won;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public long getTickCount() {
+        return tick;
+    }
+
+    public GameController getController() {
+        return controller;
+    }
+
+    public void shutdown() {
+        if (recorder != null) {
+            recorder.close();
+        }
+        controller.shutdown();
+    }
+
+    @Override
+    public void onWin() {
+        won = true;
+    }
+
+    @Override
+    public void onGameOver() {
+        gameOver = true;
+    }
+
+    @Override
+    public void onExitToMenu() {
+    }
+
+    // prueba de carga: java -Djava.awt.headless=true game.HeadlessRuntime [segundos] [altura] [semilla]
+    public static void main(String[] args) {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int height = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        HeadlessRuntime rt = create(seed, height, 800, 600);
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        while (System.nanoTime() < end && !rt.isFinished()) {
+            rt.step(SimulationThread.SIM_HZ);
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        long ticks = rt.getTickCount();
+        System.out.printf("%d ticks en %.2f s: %.0f ticks/s (%.1fx tiempo real)%n",
+                ticks, elapsed, ticks / elapsed, ticks / elapsed / SimulationThread.SIM_HZ);
+        System.out.println("semilla " + seed);
+        System.out.println(rt.isWon() ? "victoria" : rt.isGameOver() ? "derrota" : "sin terminar");
+        rt.shutdown();
+    }
+}
@@ -0,0 +1,115 @@
+package game;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Graba semilla, tamano del mapa y la entrada del jugador tick a tick en un archivo binario compacto.
+// Solo se escriben los cambios (mascara de teclas, eleccion de nivel), con el tick en delta como varint,
+// y cada CHECKSUM_EVERY ticks una huella del estado para que InputReplayer detecte desincronizaciones.
+// Todo se llama desde el hilo de simulacion.
+public class InputRecorder implements Closeable {
+    public static final int CHECKSUM_EVERY = 120;
+
+    static final int MAGIC = 0x4D4E5250; // "MNRP"
+    static final int VERSION = 1;
+
+    static final int OP_END = 0;
+    static final int OP_MOVE = 1;
+    static final int OP_CHOICE = 2;
+    static final int OP_CHECKSUM = 3;
+
+    private final DataOutputStream out;
+    private long lastTick = 0;
+    private long currentTick = 0;
+    private boolean closed = false;
+
+    public InputRecorder(OutputStream os, long seed, int height, int roomW, int roomH) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(os));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        out.writeByte(height);
+        out.writeShort(roomW);
+        out.writeShort(roomH);
+    }
+
+    public static InputRecorder open(Path path, long seed, int height, int roomW, int roomH) throws IOException {
+        return new InputRecorder(Files.newOutputStream(path), seed, height, roomW, roomH);
+    }
+
+    // comando aplicado antes de simular el tick tick + 1; pausas y reanudaciones no cambian la simulacion
+    public void record(long tick, SimCommand c) {
+        switch (c.kind) {
+            case MOVE -> write(tick, OP_MOVE, (c.value & 0x0F) | ((c.facing + 1) & 0x03) << 4);
+            case LEVEL_CHOICE -> write(tick, OP_CHOICE, c.value);
+            default -> {
+            }
+        }
+    }
+
+    // despues de simular el tick numero tick
+    public void afterTick(long tick, GameController controller) {
+        currentTick = tick;
+        if (tick % CHECKSUM_EVERY == 0) {
+            write(tick, OP_CHECKSUM, StateChecksum.of(controller));
+        }
+    }
+
+    private void write(long tick, int op, long value) {
+        if (closed) {
+            return;
+        }
+        try {
+            writeVarLong(tick - lastTick);
+            lastTick = tick;
+            out.writeByte(op);
+            if (op == OP_CHECKSUM) {
+                out.writeLong(value);
+            }
+            else {
+                out.writeByte((int) value);
+            }
+        } catch (IOException ex) {
+            // la partida sigue aunque no se pueda grabar
+            System.err.println("Error al grabar la entrada: " + ex.getMessage());
+            closeQuietly();
+        }
+    }
+
+    private void writeVarLong(long v) throws IOException {
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) (v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    // marca el ultimo tick simulado para que la reproduccion llegue hasta ahi
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        try {
+            writeVarLong(Math.max(0L, currentTick - lastTick));
+            out.writeByte(OP_END);
+            out.flush();
+        } catch (IOException ex) {
+            System.err.println("Error al cerrar la grabacion: " + ex.getMessage());
+        }
+        closeQuietly();
+    }
+
+    private void closeQuietly() {
+        closed = true;
+        try {
+            out.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package game;
+
+import utils.RngService;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+// Reproduce una grabacion de InputRecorder sobre HeadlessRuntime, sin ventana y sin limite de velocidad.
+// Como la partida sale de la semilla, la misma grabacion es siempre la misma carga de trabajo;
+// si una huella no coincide, la simulacion dejo de ser determinista (o cambio la logica del juego).
+public class InputReplayer {
+    public final long seed;
+    public final int height, roomW, roomH;
+
+    // registros en orden de tick
+    private int count = 0;
+    private long[] ticks = new long[256];
+    private byte[] ops = new byte[256];
+    private long[] values = new long[256];
+
+    public static class Result {
+        public long ticks;
+        public int checksums;
+        // primer tick cuya huella no coincide, -1 si todas coinciden
+        public long desyncTick = -1;
+        public long expected, actual;
+        public boolean won, gameOver;
+        public double seconds;
+
+        public boolean isDesynced() {
+            return desyncTick >= 0;
+        }
+
+        public double ticksPerSecond() {
+            return seconds > 0 ? ticks / seconds : 0;
+        }
+    }
+
+    public InputReplayer(InputStream is) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(is));
+        if (in.readInt() != InputRecorder.MAGIC) {
+            throw new IOException("No es una grabacion de partida");
+        }
+        int version = in.readUnsignedByte();
+        if (version != InputRecorder.VERSION) {
+            throw new IOException("Version de grabacion no soportada: " + version);
+        }
+        seed = in.readLong();
+        height = in.readUnsignedByte();
+        roomW = in.readUnsignedShort();
+        roomH = in.readUnsignedShort();
+
+        long tick = 0;
+        int op;
+        do {
+            tick += readVarLong(in);
+            op = in.readUnsignedByte();
+            long value = 0;
+            if (op == InputRecorder.OP_CHECKSUM) {
+                value = in.readLong();
+            }
+            else if (op != InputRecorder.OP_END) {
+                value = in.readUnsignedByte();
+            }
+            add(tick, op, value);
+        } while (op != InputRecorder.OP_END);
+    }
+
+    public static InputReplayer load(Path path) throws IOException {
+        try (InputStream is = Files.newInputStream(path)) {
+            return new InputReplayer(is);
+        }
+    }
+
+    private void add(long tick, int op, long value) {
+        if (count == ticks.length) {
+            int n = count * 2;
+            ticks = Arrays.copyOf(ticks, n);
+            ops = Arrays.copyOf(ops, n);
+            values = Arrays.copyOf(values, n);
+        }
+        ticks[count] = tick;
+        ops[count] = (byte) op;
+        values[count] = value;
+        count++;
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long v = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 63) {
+                throw new EOFException("Varint demasiado largo");
+            }
+            b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return v;
+    }
+
+    public long getEndTick() {
+        return count > 0 ? ticks[count - 1] : 0;
+    }
+
+    // partida nueva desde la semilla, con la entrada grabada; se para en la primera desincronizacion
+    public Result run() {
+        return run(RenderSink.NONE, 0);
+    }
+
+    public Result run(RenderSink sink, int snapshotEvery) {
+        HeadlessRuntime rt = new HeadlessRuntime(
+                GameController.newGame(new RngService(seed), height, roomW, roomH, AudioSink.NONE), sink, snapshotEvery);
+        // las elecciones de nivel vienen en la grabacion
+        rt.setAutoLevelUp(false);
+        Result result = new Result();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < count && !result.isDesynced(); i++) {
+            while (rt.getTickCount() < ticks[i]) {
+                rt.advance();
+            }
+            switch (ops[i]) {
+                case InputRecorder.OP_MOVE -> {
+                    int v = (int) values[i];
+                    rt.apply(SimCommand.move(v & 0x0F, ((v >> 4) & 0x03) - 1));
+                }
+                case InputRecorder.OP_CHOICE -> rt.apply(SimCommand.levelChoice((int) values[i]));
+                case InputRecorder.OP_CHECKSUM -> {
+                    long actual = StateChecksum.of(rt.getController());
+                    result.checksums++;
+                    if (actual != values[i]) {
+                        result.desyncTick = ticks[i];
+                        result.expected = values[i];
+                        result.actual = actual;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        result.seconds = (System.nanoTime() - start) / 1e9;
+        result.ticks = rt.getTickCount();
+        result.won = rt.isWon();
+        result.gameOver = rt.isGameOver();
+        rt.shutdown();
+        return result;
+    }
+
+    // java -Djava.awt.headless=true game.InputReplayer partida.rec [repeticiones]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("uso: InputReplayer <grabacion> [repeticiones]");
+            System.exit(2);
+        }
+        InputReplayer replay = load(Paths.get(args[0]));
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        System.out.printf("semilla %d, altura %d, %d ticks grabados%n", replay.seed, replay.height, replay.getEndTick());
+
+        boolean desynced = false;
+        for (int r = 0; r < runs; r++) {
+            Result res = replay.run();
+            System.out.printf("%d: %d ticks en %.2f s (%.0f ticks/s), %d huellas%s%n",
+                    r + 1, res.ticks, res.seconds, res.ticksPerSecond(), res.checksums,
+                    res.isDesynced() ? String.format(", DESINCRONIZADA en el tick %d (%016x != %016x)",
+                            res.desyncTick, res.actual, res.expected) : "");
+            desynced |= res.isDesynced();
+        }
+        System.exit(desynced ? 1 : 0);
+    }
+}
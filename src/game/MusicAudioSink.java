@@ -0,0 +1,108 @@
+package game;
+
+import utils.BackgroundMusic;
+
+import javax.sound.sampled.Clip;
+
+// Audio real del juego con javax.sound: musica de fondo en bucle y victoria/derrota una sola vez
+public class MusicAudioSink implements AudioSink {
+    private BackgroundMusic backgroundMusic;
+    private BackgroundMusic victoryMusic = null;
+    private boolean victoryMusicPlayed = false;
+    private BackgroundMusic loseMusic = null;
+    private boolean loseMusicPlayed = false;
+
+    @Override
+    public void startBackground() {
+        try {
+            backgroundMusic = new BackgroundMusic("music/background.wav");
+            // La música se inicia automáticamente en bucle en el constructor
+
+        } catch (Exception e) {
+            System.err.println("No se pudo inicializar la música: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void playVictory() {
+        if (backgroundMusic != null) {
+            backgroundMusic.stop();
+        }
+
+        if (!victoryMusicPlayed) {
+            try {
+                victoryMusic = new BackgroundMusic("music/victory.wav", false);
+                // Reproducir solo una vez
+                victoryMusic.playOnce();
+                victoryMusicPlayed = true;
+                closeWhenStopped(victoryMusic);
+            } catch (Exception e) {
+                System.err.println("Error al reproducir música de victoria: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void playLose() {
+        if (backgroundMusic != null) {
+            backgroundMusic.stop();
+        }
+
+        if (!loseMusicPlayed) {
+            try {
+                // Crear la música de derrota sin autoPlay
+                loseMusic = new BackgroundMusic("music/lose.wav", false);
+                // Reproducir solo una vez
+                loseMusic.playOnce();
+                loseMusicPlayed = true;
+                closeWhenStopped(loseMusic);
+            } catch (Exception e) {
+                System.err.println("Error al reproducir música de derrota: " + e.getMessage());
+            }
+        }
+    }
+
+    // Añadir un listener para saber cuándo termina
+    private void closeWhenStopped(BackgroundMusic music) {
+        try {
+            // Necesitamos acceder al Clip interno para añadir el listener
+            java.lang.reflect.Field clipField = BackgroundMusic.class.getDeclaredField("clip");
+            clipField.setAccessible(true);
+            Clip clip = (Clip) clipField.get(music);
+
+            clip.addLineListener(event -> {
+                if (event.getType() == javax.sound.sampled.LineEvent.Type.STOP) {
+                    // Cuando termine, cerrar el clip para liberar recursos
+                    clip.close();
+                }
+            });
+        } catch (Exception e) {
+            // Si no podemos acceder al clip, ignorar
+        }
+    }
+
+    @Override
+    public void reset() {
+        loseMusicPlayed = false;
+        victoryMusicPlayed = false;
+    }
+
+    @Override
+    public void close() {
+        reset();
+        if (backgroundMusic != null) {
+            backgroundMusic.stop();
+            backgroundMusic.close();
+        }
+        if (loseMusic != null) {
+            loseMusic.stop();
+            loseMusic.close();
+            loseMusic = null;
+        }
+        if (victoryMusic != null) {
+            victoryMusic.stop();
+            victoryMusic.close();
+            victoryMusic = null;
+        }
+    }
+}
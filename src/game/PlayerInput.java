@@ -0,0 +1,55 @@
+package game;
+
+import Tree.BinaryTreeNode;
+import entities.Player;
+import map.MineRoom;
+
+// Movimiento del jugador a partir de los comandos MOVE. Lo comparten el hilo de simulacion y el runtime sin ventana
+class PlayerInput {
+    private int moveMask = 0;
+
+    void setMove(Player p, SimCommand c) {
+        moveMask = c.value;
+        if (c.facing < 0) {
+            p.setFacingLeft();
+        }
+        else if (c.facing > 0) {
+            p.setFacingRight();
+        }
+        // construye vector según combinación de teclas; si ninguna, no cambia facing
+        float dx = 0f, dy = 0f;
+        if ((moveMask & SimCommand.LEFT) != 0)
+            dx -= 1f;
+        if ((moveMask & SimCommand.RIGHT) != 0)
+            dx += 1f;
+        if ((moveMask & SimCommand.UP) != 0)
+            dy -= 1f;
+        if ((moveMask & SimCommand.DOWN) != 0)
+            dy += 1f;
+        p.setFacing(dx, dy);
+    }
+
+    void apply(GameController controller, float dt) {
+        Player p = controller.player;
+        float moveSpeed = 140f * p.moveSpeedMultiplier;
+        float vx = 0f, vy = 0f;
+        if ((moveMask & SimCommand.LEFT) != 0)
+            vx -= moveSpeed;
+        if ((moveMask & SimCommand.RIGHT) != 0)
+            vx += moveSpeed;
+        if ((moveMask & SimCommand.UP) != 0)
+            vy -= moveSpeed;
+        if ((moveMask & SimCommand.DOWN) != 0)
+            vy += moveSpeed;
+        p.x += vx * dt;
+        p.y += vy * dt;
+        BinaryTreeNode<MineRoom> node = controller.nodoActual;
+        if (node != null) {
+            MineRoom r = node.getInfo();
+            if (r != null) {
+                p.x = Math.max(8f, Math.min(r.width - 8f, p.x));
+                p.y = Math.max(8f, Math.min(r.height - 8f, p.y));
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package game;
+
+// Recibe los snapshots del runtime sin ventana (bots, capturas, metricas). Por defecto los ignora
+public interface RenderSink {
+    RenderSink NONE = snapshot -> {
+    };
+
+    void present(RenderSnapshot snapshot);
+}
@@ -0,0 +1,186 @@
+package game;
+
+import Tree.BinaryTreeNode;
+import entities.Enemy;
+import entities.Player;
+import map.Crystal;
+import map.Door;
+import map.Key;
+import map.MineRoom;
+import menu.Choice;
+import weapons.Projectile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Copia de lo que hace falta para pintar un frame. La rellena el hilo de simulacion y GamePanel solo la lee,
+// asi el repintado nunca toca Enemy, Player ni las listas de la sala mientras se simulan.
+public class RenderSnapshot {
+    public long tick;
+    public boolean hasRoom;
+    public int roomWidth, roomHeight, floorType;
+
+    public int doorCount;
+    public int[] doorX = new int[8], doorY = new int[8], doorW = new int[8], doorH = new int[8], doorTipo = new int[8];
+    public boolean[] doorWin = new boolean[8];
+
+    public int enemyCount;
+    public float[] enemyX = new float[64], enemyY = new float[64], enemyHpFrac = new float[64];
+    public int[] enemyLevel = new int[64], enemyAnimTick = new int[64];
+
+    public float playerX, playerY;
+    public int playerW, playerH, playerAnimTick;
+    public boolean playerFacingLeft;
+    public int playerHp, playerMaxHp, playerLevel, playerXp, playerXpToNext;
+
+    public int crystalCount;
+    public float[] crystalX = new float[64], crystalY = new float[64];
+    public int[] crystalVariant = new int[64];
+
+    public int keyCount;
+    public float[] keyX = new float[4], keyY = new float[4];
+    public String[] keyId = new String[4];
+
+    // copias superficiales: render() de cada proyectil solo lee sus propios campos
+    public final List<Projectile> projectiles = new ArrayList<>();
+    public final List<Projectile> effects = new ArrayList<>();
+
+    public boolean levelUpModalOpen;
+    public final List<Choice> choices = new ArrayList<>();
+    // nivel del arma o pilas de la pasiva de cada opcion
+    public int[] choiceLevel = new int[4];
+
+    void capture(GameController c, long tick) {
+        this.tick = tick;
+        BinaryTreeNode<MineRoom> node = c.nodoActual;
+        MineRoom r = node != null ? node.getInfo() : null;
+        hasRoom = r != null;
+        doorCount = 0;
+        enemyCount = 0;
+        crystalCount = 0;
+        keyCount = 0;
+        if (r != null) {
+            roomWidth = r.width;
+            roomHeight = r.height;
+            floorType = r.floorType;
+            captureDoors(r.doors);
+            captureEnemies(c.enemyManager.getEnemiesAt(node));
+            captureCrystals(r.drops);
+            captureKeys(r.keys);
+        }
+        capturePlayer(c.player);
+        c.captureProjectiles(projectiles, effects);
+
+        levelUpModalOpen = c.isLevelUpModalOpen();
+        choices.clear();
+        if (levelUpModalOpen) {
+            choices.addAll(c.getCurrentChoices());
+            if (choiceLevel.length < choices.size()) {
+                choiceLevel = new int[choices.size()];
+            }
+            for (int i = 0; i < choices.size(); i++) {
+                Choice ch = choices.get(i);
+                choiceLevel[i] = ch.kind == Choice.Kind.WEAPON ? c.player.getWeaponLevel(ch.id) : c.player.getPassiveStacks(ch.id);
+            }
+        }
+    }
+
+    private void captureDoors(List<Door> doors) {
+        if (doorX.length < doors.size()) {
+            int n = doors.size();
+            doorX = Arrays.copyOf(doorX, n);
+            doorY = Arrays.copyOf(doorY, n);
+            doorW = Arrays.copyOf(doorW, n);
+            doorH = Arrays.copyOf(doorH, n);
+            doorTipo = Arrays.copyOf(doorTipo, n);
+            doorWin = Arrays.copyOf(doorWin, n);
+        }
+        for (Door d : doors) {
+            if (d == null) {
+                continue;
+            }
+            int i = doorCount++;
+            doorX[i] = d.area.x;
+            doorY[i] = d.area.y;
+            doorW[i] = d.area.width;
+            doorH[i] = d.area.height;
+            doorTipo[i] = d.tipo;
+            doorWin[i] = d.isWin;
+        }
+    }
+
+    private void captureEnemies(List<Enemy> enemies) {
+        if (enemyX.length < enemies.size()) {
+            int n = Math.max(enemies.size(), enemyX.length * 2);
+            enemyX = Arrays.copyOf(enemyX, n);
+            enemyY = Arrays.copyOf(enemyY, n);
+            enemyHpFrac = Arrays.copyOf(enemyHpFrac, n);
+            enemyLevel = Arrays.copyOf(enemyLevel, n);
+            enemyAnimTick = Arrays.copyOf(enemyAnimTick, n);
+        }
+        for (int k = 0; k < enemies.size(); k++) {
+            Enemy en = enemies.get(k);
+            if (en == null || !en.isAlive()) {
+                continue;
+            }
+            int i = enemyCount++;
+            enemyX[i] = en.getX();
+            enemyY[i] = en.getY();
+            enemyLevel[i] = en.getLevel();
+            enemyAnimTick[i] = en.getAnimTick();
+            enemyHpFrac[i] = en.getMaxHp() > 0 ? Math.max(0f, Math.min(1f, (float) en.getHp() / en.getMaxHp())) : 0f;
+        }
+    }
+
+    private void captureCrystals(List<Crystal> drops) {
+        if (crystalX.length < drops.size()) {
+            int n = Math.max(drops.size(), crystalX.length * 2);
+            crystalX = Arrays.copyOf(crystalX, n);
+            crystalY = Arrays.copyOf(crystalY, n);
+            crystalVariant = Arrays.copyOf(crystalVariant, n);
+        }
+        for (int k = 0; k < drops.size(); k++) {
+            Crystal cr = drops.get(k);
+            if (cr.collected) {
+                continue;
+            }
+            int i = crystalCount++;
+            crystalX[i] = cr.x;
+            crystalY[i] = cr.y;
+            crystalVariant[i] = cr.variant;
+        }
+    }
+
+    private void captureKeys(List<Key> keys) {
+        if (keyX.length < keys.size()) {
+            int n = Math.max(keys.size(), keyX.length * 2);
+            keyX = Arrays.copyOf(keyX, n);
+            keyY = Arrays.copyOf(keyY, n);
+            keyId = Arrays.copyOf(keyId, n);
+        }
+        for (Key kd : keys) {
+            if (kd == null || kd.collected) {
+                continue;
+            }
+            int i = keyCount++;
+            keyX[i] = kd.x;
+            keyY[i] = kd.y;
+            keyId[i] = kd.id;
+        }
+    }
+
+    private void capturePlayer(Player p) {
+        playerX = p.x;
+        playerY = p.y;
+        playerW = p.w;
+        playerH = p.h;
+        playerAnimTick = p.getAnimTick();
+        playerFacingLeft = p.isFacingLeft();
+        playerHp = p.hp;
+        playerMaxHp = p.maxHp;
+        playerLevel = p.level;
+        playerXp = p.currentXp;
+        playerXpToNext = p.xpToNextLevel;
+    }
+}
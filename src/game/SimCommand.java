@@ -0,0 +1,35 @@
+package game;
+
+// Entrada del jugador o de la ventana que el hilo de simulacion aplica al principio de cada iteracion
+public final class SimCommand {
+    public enum Kind { MOVE, LEVEL_CHOICE, PAUSE, RESUME }
+
+    // bits de MOVE
+    public static final int UP = 1;
+    public static final int DOWN = 2;
+    public static final int LEFT = 4;
+    public static final int RIGHT = 8;
+
+    public final Kind kind;
+    public final int value;
+    // MOVE: -1 si se acaba de pulsar izquierda, 1 si derecha, 0 si no cambia el sprite
+    public final int facing;
+
+    public SimCommand(Kind kind, int value, int facing) {
+        this.kind = kind;
+        this.value = value;
+        this.facing = facing;
+    }
+
+    public static SimCommand move(int mask, int facing) {
+        return new SimCommand(Kind.MOVE, mask, facing);
+    }
+
+    public static SimCommand levelChoice(int index) {
+        return new SimCommand(Kind.LEVEL_CHOICE, index, 0);
+    }
+
+    public static SimCommand pause(boolean paused) {
+        return new SimCommand(paused ? Kind.PAUSE : Kind.RESUME, 0, 0);
+    }
+}
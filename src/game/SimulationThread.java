@@ -0,0 +1,120 @@
+package game;
+
+import utils.TripleBuffer;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+// Hilo propio para la simulacion: aplica la entrada encolada, avanza GameController a paso fijo
+// y publica un RenderSnapshot por iteracion. GamePanel solo encola comandos y lee el ultimo snapshot.
+public class SimulationThread extends Thread {
+    public static final int SIM_HZ = 120;
+    public static final int MAX_STEPS_PER_FRAME = 8;
+
+    private final GameController controller;
+    private final FixedStepLoop loop;
+    private final ConcurrentLinkedQueue<SimCommand> commands = new ConcurrentLinkedQueue<>();
+    private final TripleBuffer<RenderSnapshot> snapshots = new TripleBuffer<>(RenderSnapshot::new);
+    private volatile boolean running = true;
+
+    // estado propio del hilo de simulacion
+    private boolean paused = false;
+    private final PlayerInput input = new PlayerInput();
+    // graba la entrada para InputReplayer; lo cierra este hilo al terminar
+    private volatile InputRecorder recorder;
+    private boolean snapshotDirty = true;
+
+    public SimulationThread(GameController controller) {
+        super("simulation");
+        setDaemon(true);
+        this.controller = controller;
+        this.loop = new FixedStepLoop(SIM_HZ, MAX_STEPS_PER_FRAME, this::step);
+    }
+
+    // antes de start()
+    public void setRecorder(InputRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    // desde cualquier hilo
+    public void post(SimCommand command) {
+        commands.add(command);
+        LockSupport.unpark(this);
+    }
+
+    // desde el hilo que pinta
+    public RenderSnapshot latestSnapshot() {
+        return snapshots.front();
+    }
+
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(this);
+        if (Thread.currentThread() != this) {
+            try {
+                join(1000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        long stepNs = 1_000_000_000L / SIM_HZ;
+        while (running) {
+            drainCommands();
+            int steps = 0;
+            // terminada la partida no se simula mas; la ventana cierra el hilo al cambiar de panel
+            if (!paused && !controller.isEnded()) {
+                steps = loop.advance(System.nanoTime());
+            }
+            if (steps > 0 || snapshotDirty) {
+                snapshots.back().capture(controller, loop.getTickCount());
+                snapshots.publish();
+                snapshotDirty = false;
+            }
+            // dormir hasta el siguiente paso; un comando nuevo despierta antes
+            LockSupport.parkNanos(paused ? stepNs * 4 : Math.max(100_000L, (long) (stepNs * (1f - loop.getAlpha()))));
+        }
+        if (recorder != null) {
+            recorder.close();
+        }
+    }
+
+    private void drainCommands() {
+        SimCommand c;
+        while ((c = commands.poll()) != null) {
+            if (recorder != null) {
+                recorder.record(loop.getTickCount(), c);
+            }
+            switch (c.kind) {
+                case MOVE -> input.setMove(controller.player, c);
+                case LEVEL_CHOICE -> controller.onLevelUpChoiceSelected(c.value);
+                case PAUSE -> {
+                    paused = true;
+                    controller.setExternallyPaused(true);
+                }
+                case RESUME -> {
+                    // el tiempo en pausa no se simula
+                    loop.reset();
+                    paused = false;
+                    controller.setExternallyPaused(false);
+                }
+            }
+            snapshotDirty = true;
+        }
+    }
+
+    // un paso de simulacion de duracion fija
+    private void step(float dt) {
+        if (!controller.isLevelUpModalOpen()) {
+            input.apply(controller, dt);
+        }
+        controller.update(dt, null);
+        if (recorder != null) {
+            // el loop cuenta este paso al volver de step
+            recorder.afterTick(loop.getTickCount() + 1, controller);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package game;
+
+import entities.Enemy;
+import entities.Player;
+import map.MineRoom;
+
+import java.util.List;
+
+// Huella del estado de la simulacion para detectar desincronizaciones al reproducir una grabacion.
+// Solo mira lo que cambia de un tick a otro: jugador, sala actual y sus enemigos
+final class StateChecksum {
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private StateChecksum() {
+    }
+
+    static long of(GameController c) {
+        long h = FNV_OFFSET;
+        Player p = c.player;
+        h = mix(h, Float.floatToIntBits(p.x));
+        h = mix(h, Float.floatToIntBits(p.y));
+        h = mix(h, p.hp);
+        h = mix(h, p.level);
+        h = mix(h, p.currentXp);
+
+        MineRoom room = c.nodoActual != null ? c.nodoActual.getInfo() : null;
+        if (room != null) {
+            h = mix(h, room.id);
+            h = mix(h, room.clearCount);
+            h = mix(h, room.drops.size());
+            List<Enemy> enemies = c.enemyManager.getEnemiesAt(c.nodoActual);
+            h = mix(h, enemies.size());
+            for (int i = 0; i < enemies.size(); i++) {
+                Enemy e = enemies.get(i);
+                if (e == null) {
+                    continue;
+                }
+                h = mix(h, Float.floatToIntBits(e.getX()));
+                h = mix(h, Float.floatToIntBits(e.getY()));
+                h = mix(h, e.getHp());
+            }
+        }
+        return h;
+    }
+
+    private static long mix(long h, long v) {
+        return (h ^ v) * FNV_PRIME;
+    }
+}
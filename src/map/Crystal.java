@@ -1,10 +1,17 @@
 package map;
 
+import utils.ObjectPool;
+import utils.Pooled;
+
 //Recompensa dejada por enemigos al morir.
 
-public class Crystal {
+public class Crystal extends Pooled {
+    public static final int VARIANTS = 5;
+
     public float x, y;
     public int value;
+    // sprite c1..c5; se elige al soltarlo, no al pintar
+    public int variant;
     public boolean collected = false;
 
     public Crystal(float x, float y, int value) {
@@ -12,4 +19,21 @@ public class Crystal {
         this.y = y;
         this.value = value;
     }
+
+    private Crystal() {
+    }
+
+    // un pool por partida (lo tiene EnemyManager); no es thread-safe
+    public static ObjectPool<Crystal> newPool() {
+        return new ObjectPool<>(Crystal::new, 1024);
+    }
+
+    public Crystal init(float x, float y, int value, int variant) {
+        this.x = x;
+        this.y = y;
+        this.value = value;
+        this.variant = variant;
+        this.collected = false;
+        return this;
+    }
 }
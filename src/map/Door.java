@@ -5,6 +5,7 @@ import java.util.*;
 import Tree.BinaryTreeNode;
 
 import java.awt.Rectangle;
+import java.util.random.RandomGenerator;
 
 //Puerta dentro de una sala que lleva a otra sala (otro nodo).
 
@@ -20,7 +21,7 @@ public class Door {
     // nuevo campo para diferenciar puertas normales
     public int tipo = 0;
 
-    public Door(Rectangle area, BinaryTreeNode<MineRoom> destino, int spawnX, int spawnY) {
+    public Door(Rectangle area, BinaryTreeNode<MineRoom> destino, int spawnX, int spawnY, RandomGenerator rng) {
         this.area = area;
         this.destino = destino;
         this.spawnX = spawnX;
@@ -32,7 +33,7 @@ public class Door {
         else {
             this.label = "";
         }
-        this.tipo = new Random().nextInt(5) + 1; // asigna sprite aleatorio p1..p5
+        this.tipo = rng.nextInt(5) + 1; // asigna sprite aleatorio p1..p5
     }
 
     // constructor para puerta de victoria
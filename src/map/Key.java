@@ -1,6 +1,9 @@
 package map;
 
-public class Key {
+import utils.ObjectPool;
+import utils.Pooled;
+
+public class Key extends Pooled {
     public float x;
     public float y;
     public String id;
@@ -11,4 +14,19 @@ public class Key {
         this.y = y;
         this.id = id;
     }
+
+    private Key() {
+    }
+
+    public static ObjectPool<Key> newPool() {
+        return new ObjectPool<>(Key::new, 16);
+    }
+
+    public Key init(float x, float y, String id) {
+        this.x = x;
+        this.y = y;
+        this.id = id;
+        this.collected = false;
+        return this;
+    }
 }
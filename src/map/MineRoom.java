@@ -4,6 +4,7 @@ import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 //Datos de una sala (un nodo del árbol). Contiene puertas, drops y enemigos
 public class MineRoom {
@@ -34,12 +35,12 @@ public class MineRoom {
 
     public int floorType;
 
-    public MineRoom(int id, int width, int height) {
+    public MineRoom(int id, int width, int height, RandomGenerator rng) {
         this.id = id;
         this.width = 890;
         this.height = 570;
 
-        this.floorType = 1 + new Random().nextInt(5);
+        this.floorType = 1 + rng.nextInt(5);
     }
 
     public Rectangle getBounds() {
@@ -1,12 +1,17 @@
 package map;
 
+import Tree.ArrayBinaryTree;
+import Tree.AugmentedBinaryTreeNode;
 import Tree.BinaryTree;
 import Tree.BinaryTreeNode;
+import Tree.PreorderCursor;
 import Tree.TreeNode;
 
+import java.util.random.RandomGenerator;
+
 public class SimpleMapBuilder {
 
-    public static BinaryTree<MineRoom> buildProceduralBinaryMap(int height, int roomW, int roomH) {
+    public static BinaryTree<MineRoom> buildProceduralBinaryMap(int height, int roomW, int roomH, RandomGenerator rng) {
         if (height < 0) {
             throw new IllegalArgumentException("height must be >= 0");
         }
@@ -20,8 +25,8 @@ public class SimpleMapBuilder {
             for (int i = 0; i < count; i++) {
                 int index = (1 << level) + i;
                 int id = level;
-                MineRoom room = new MineRoom(id, roomW, roomH);
-                nodes[index] = new BinaryTreeNode<>(room);
+                MineRoom room = new MineRoom(id, roomW, roomH, rng);
+                nodes[index] = new AugmentedBinaryTreeNode<>(room);
             }
         }
 
@@ -40,42 +45,55 @@ public class SimpleMapBuilder {
             }
         }
         BinaryTree<MineRoom> map = new BinaryTree<>(nodes[1]);
+        addDoors(map, rng);
+        return map;
+    }
 
-        for (int idx = 1; idx <= totalNodes; idx++) {
-            BinaryTreeNode<MineRoom> parent = nodes[idx];
-            if (parent == null) {
-                continue;
-            }
-            int left = idx * 2;
-            int right = idx * 2 + 1;
-            if (left <= totalNodes && nodes[left] != null) {
-                addParentChildDoors(parent, nodes[left]);
+    // Mismo mapa pero sobre el arbol implicito en arreglo (hijos en 2i y 2i+1)
+    public static ArrayBinaryTree<MineRoom> buildProceduralArrayMap(int height, int roomW, int roomH, RandomGenerator rng) {
+        if (height < 0) {
+            throw new IllegalArgumentException("height must be >= 0");
+        }
+        int totalNodes = (1 << (height + 1)) - 1;
+        ArrayBinaryTree<MineRoom> map = new ArrayBinaryTree<>(height);
+        for (int index = 1; index <= totalNodes; index++) {
+            int id = ArrayBinaryTree.levelOf(index);
+            map.putAt(index, new MineRoom(id, roomW, roomH, rng));
+        }
+        addDoors(map, rng);
+        return map;
+    }
+
+    private static void addDoors(BinaryTree<MineRoom> map, RandomGenerator rng) {
+        PreorderCursor<MineRoom> it = map.preOrderCursor();
+        while (it.hasNext()) {
+            BinaryTreeNode<MineRoom> parent = it.nextNode();
+            if (parent.getLeft() != null) {
+                addParentChildDoors(parent, parent.getLeft(), rng);
             }
-            if (right <= totalNodes && nodes[right] != null) {
-                addParentChildDoors(parent, nodes[right]);
+            if (parent.getRight() != null) {
+                addParentChildDoors(parent, parent.getRight(), rng);
             }
         }
 
-        BinaryTreeNode<MineRoom> rootNode = nodes[1];
-        if (rootNode != null) {
-            MineRoom rootRoom = rootNode.getInfo();
+        TreeNode<MineRoom> rootNode = map.getRoot();
+        if (rootNode instanceof BinaryTreeNode) {
+            MineRoom rootRoom = ((BinaryTreeNode<MineRoom>) rootNode).getInfo();
             java.awt.Rectangle winArea = new java.awt.Rectangle(rootRoom.width - 110, 10, 100, 32);
             Door win = new Door(winArea, true, "Exit");
             win.locked = true;
             rootRoom.doors.add(win);
         }
-
-        return map;
     }
 
-    private static void addParentChildDoors(BinaryTreeNode<MineRoom> parent, BinaryTreeNode<MineRoom> child) {
+    private static void addParentChildDoors(BinaryTreeNode<MineRoom> parent, BinaryTreeNode<MineRoom> child, RandomGenerator rng) {
         MineRoom pRoom = parent.getInfo();
         MineRoom cRoom = child.getInfo();
 
         java.awt.Rectangle childDoor = new java.awt.Rectangle(cRoom.width / 2 - 40, 10, 80, 28);
         int parentSpawnX = pRoom.width / 2;
         int parentSpawnY = pRoom.height - 80;
-        Door childToParent = new Door(childDoor, parent, parentSpawnX, parentSpawnY);
+        Door childToParent = new Door(childDoor, parent, parentSpawnX, parentSpawnY, rng);
         if (childToParent.destino != null && childToParent.destino.getInfo() != null) {
             childToParent.label = String.valueOf(childToParent.destino.getInfo().id);
         }
@@ -102,7 +120,7 @@ public class SimpleMapBuilder {
         java.awt.Rectangle parentDoor = new java.awt.Rectangle(px - 40, pRoom.height - 38, 80, 28);
         int childSpawnX = cRoom.width / 2;
         int childSpawnY = 80;
-        Door parentToChild = new Door(parentDoor, child, childSpawnX, childSpawnY);
+        Door parentToChild = new Door(parentDoor, child, childSpawnX, childSpawnY, rng);
         if (parentToChild.destino != null && parentToChild.destino.getInfo() != null) {
             parentToChild.label = String.valueOf(parentToChild.destino.getInfo().id);
         }
@@ -112,57 +130,16 @@ public class SimpleMapBuilder {
         pRoom.doors.add(parentToChild);
     }
 
-    public static BinaryTreeNode<MineRoom> pickRandomNonRootNode(BinaryTree<MineRoom> map) {
+    public static BinaryTreeNode<MineRoom> pickRandomNonRootNode(BinaryTree<MineRoom> map, RandomGenerator rng) {
         BinaryTreeNode<MineRoom> result = null;
-        if (map != null) {
-            TreeNode<MineRoom> rootT = map.getRoot();
-            if (rootT instanceof BinaryTreeNode) {
-                BinaryTreeNode<MineRoom> root = (BinaryTreeNode<MineRoom>) rootT;
-                java.util.List<BinaryTreeNode<MineRoom>> candidates = new java.util.ArrayList<>();
-                java.util.Queue<BinaryTreeNode<MineRoom>> q = new java.util.ArrayDeque<>();
-                q.add(root);
-
-                while (!q.isEmpty()) {
-                    BinaryTreeNode<MineRoom> cur = q.poll();
-                    if (cur != null) {
-                        try {
-                            int nodeLevel = map.nodeLevel(cur);
-                            if (nodeLevel != 0) {
-                                candidates.add(cur);
-                            }
-                        } catch (Exception ex) {
-                            candidates.add(cur);
-                        }
-                        if (cur.getLeft() != null) {
-                            q.add(cur.getLeft());
-                        }
-                        if (cur.getRight() != null) {
-                            q.add(cur.getRight());
-                        }
-                    }
-                }
-
-                if (!candidates.isEmpty()) {
-                    java.util.Random random = new java.util.Random();
-                    int randomIndex = random.nextInt(candidates.size());
-                    result = candidates.get(randomIndex);
-                }
-            }
+        if (map != null && map.getRoot() instanceof BinaryTreeNode) {
+            TreeNode<MineRoom> root = map.getRoot();
+            result = map.randomNode(rng, node -> node != root);
         }
         return result;
     }
 
-    public static BinaryTreeNode<MineRoom> pickRandomLeaf(BinaryTree<MineRoom> map) {
-        BinaryTreeNode<MineRoom> result = null;
-        java.util.List<TreeNode<MineRoom>> leaves = map.getLeaves();
-        if (!leaves.isEmpty()) {
-            java.util.Random random = new java.util.Random();
-            int randomIndex = random.nextInt(leaves.size());
-            TreeNode<MineRoom> selected = leaves.get(randomIndex);
-            if (selected instanceof BinaryTreeNode) {
-                result = (BinaryTreeNode<MineRoom>) selected;
-            }
-        }
-        return result;
+    public static BinaryTreeNode<MineRoom> pickRandomLeaf(BinaryTree<MineRoom> map, RandomGenerator rng) {
+        return map != null ? map.randomLeaf(rng) : null;
     }
-}
\ No newline at end of file
+}
@@ -5,15 +5,15 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Random;
+import java.io.IOException;
+import java.nio.file.Paths;
 
-import Tree.BinaryTree;
-import Tree.BinaryTreeNode;
 import game.GameController;
 import game.GameEventListener;
 import game.GamePanel;
-import map.MineRoom;
-import map.SimpleMapBuilder;
+import game.InputRecorder;
+import game.MusicAudioSink;
+import utils.RngService;
 
 public class GameWindow implements GameEventListener {
     private JFrame frame;
@@ -24,22 +24,23 @@ public class GameWindow implements GameEventListener {
     private boolean isPaused = false;
 
     public void showGameWindow() {
-        Random rng = new Random();
-        int randomHeight = rng.nextInt(3, 6);
-
-        BinaryTree<MineRoom> map = SimpleMapBuilder.buildProceduralBinaryMap(randomHeight, 800, 600);
-        BinaryTreeNode<MineRoom> start = SimpleMapBuilder.pickRandomLeaf(map);
-        if (start == null) {
-            Tree.TreeNode<MineRoom> root = map.getRoot();
-            if (root instanceof BinaryTreeNode) {
-                start = (BinaryTreeNode<MineRoom>) root;
-            }
-        }
+        // mapa y partida salen de la misma semilla (-Dgame.seed=N para repetirla)
+        RngService rng = RngService.fromSystem();
+        int randomHeight = rng.substream(RngService.Stream.MAP, 0).nextInt(3, 6);
 
-        controller = new GameController(map, start);
+        controller = GameController.newGame(rng, randomHeight, 800, 600, new MusicAudioSink());
         controller.setGameEventListener(this);
 
         gamePanel = new GamePanel(controller);
+        // -Dgame.record=archivo graba la entrada para reproducirla sin ventana con InputReplayer
+        String recordPath = System.getProperty("game.record");
+        if (recordPath != null) {
+            try {
+                gamePanel.setInputRecorder(InputRecorder.open(Paths.get(recordPath), rng.getSeed(), randomHeight, 800, 600));
+            } catch (IOException ex) {
+                System.err.println("No se pudo abrir la grabacion: " + ex.getMessage());
+            }
+        }
 
         frame = new JFrame("Mi Juego");
         frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
@@ -1,20 +1,21 @@
 package menu;
 
-import Tree.BinaryTree;
-import Tree.BinaryTreeNode;
-import Tree.PreorderIterator;
+import Tree.AVLRangeIterator;
+import Tree.AVLTree;
 import entities.Player;
 import perks.*;
 import weapons.*;
 
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 public class PerkPool {
-    private final BinaryTree<WeaponDef> weaponsTree = new BinaryTree<WeaponDef>();
-    private final BinaryTree<PassiveDef> passivesTree = new BinaryTree<PassiveDef>();
-    private final Random rnd = new Random();
+    private final AVLTree<String, WeaponDef> weaponsTree = new AVLTree<String, WeaponDef>(String::compareTo);
+    private final AVLTree<String, PassiveDef> passivesTree = new AVLTree<String, PassiveDef>(String::compareTo);
+    private final RandomGenerator rnd;
 
-    public PerkPool() {
+    public PerkPool(RandomGenerator rnd) {
+        this.rnd = rnd;
         registerWeapon(new PickaxeWeapon());
         registerWeapon(new DynamiteWeapon());
         registerWeapon(new CoalOrbWeapon());
@@ -27,37 +28,17 @@ public class PerkPool {
     }
 
     public void registerWeapon(WeaponDef w) {
-        if (w == null) {
+        if (w == null || w.id == null) {
             return;
         }
-        BinaryTreeNode<WeaponDef> node = new BinaryTreeNode<>(w);
-        if (weaponsTree.getRoot() == null) {
-            weaponsTree.setRoot(node);
-        }
-        else {
-            BinaryTreeNode<WeaponDef> cursor = (BinaryTreeNode<WeaponDef>) weaponsTree.getRoot();
-            while (cursor.getRight() != null) {
-                cursor = cursor.getRight();
-            }
-            cursor.setRight(node);
-        }
+        weaponsTree.put(w.id, w);
     }
 
     public void registerPassive(PassiveDef p) {
-        if (p == null) {
+        if (p == null || p.id == null) {
             return;
         }
-        BinaryTreeNode<PassiveDef> node = new BinaryTreeNode<>(p);
-        if (passivesTree.getRoot() == null) {
-            passivesTree.setRoot(node);
-        }
-        else {
-            BinaryTreeNode<PassiveDef> cursor = (BinaryTreeNode<PassiveDef>) passivesTree.getRoot();
-            while (cursor.getRight() != null) {
-                cursor = cursor.getRight();
-            }
-            cursor.setRight(node);
-        }
+        passivesTree.put(p.id, p);
     }
 
     private List<WeaponDef> allWeapons() {
@@ -65,7 +46,7 @@ public class PerkPool {
         if (weaponsTree.getRoot() == null) {
             return out;
         }
-        PreorderIterator<WeaponDef> it = weaponsTree.preOrderIterator();
+        AVLRangeIterator<String, WeaponDef> it = weaponsTree.inOrderIterator();
         while (it.hasNext()) {
             WeaponDef w = it.nextNode().getInfo();
             if (w != null) {
@@ -80,7 +61,7 @@ public class PerkPool {
         if (passivesTree.getRoot() == null) {
             return out;
         }
-        PreorderIterator<PassiveDef> it = passivesTree.preOrderIterator();
+        AVLRangeIterator<String, PassiveDef> it = passivesTree.inOrderIterator();
         while (it.hasNext()) {
             PassiveDef p = it.nextNode().getInfo();
             if (p != null) {
@@ -92,24 +73,16 @@ public class PerkPool {
 
     public WeaponDef getWeapon(String id) {
         WeaponDef result = null;
-        List<WeaponDef> weapons = allWeapons();
-        for (WeaponDef w : weapons) {
-            if (w.id.equals(id)) {
-                result = w;
-                break;
-            }
+        if (id != null) {
+            result = weaponsTree.get(id);
         }
         return result;
     }
 
     public PassiveDef getPassive(String id) {
         PassiveDef result = null;
-        List<PassiveDef> passives = allPassives();
-        for (PassiveDef p : passives) {
-            if (p.id.equals(id)) {
-                result = p;
-                break;
-            }
+        if (id != null) {
+            result = passivesTree.get(id);
         }
         return result;
     }
@@ -0,0 +1,43 @@
+package utils;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+// Pool de objetos reutilizables para no generar basura en cada spawn o drop
+public class ObjectPool<T extends Pooled> {
+    private final Supplier<T> factory;
+    private final ArrayDeque<T> free = new ArrayDeque<>();
+    private final int maxFree;
+
+    public ObjectPool(Supplier<T> factory, int maxFree) {
+        this.factory = factory;
+        this.maxFree = maxFree;
+    }
+
+    public T obtain() {
+        T obj = free.pollFirst();
+        if (obj == null) {
+            obj = factory.get();
+        }
+        obj.inPool = false;
+        return obj;
+    }
+
+    public void release(T obj) {
+        if (obj == null) {
+            return;
+        }
+        if (obj.inPool) {
+            throw new IllegalStateException("Objeto liberado dos veces: " + obj);
+        }
+        obj.generation++;
+        obj.inPool = true;
+        if (free.size() < maxFree) {
+            free.addFirst(obj);
+        }
+    }
+
+    public int available() {
+        return free.size();
+    }
+}
@@ -0,0 +1,34 @@
+package utils;
+
+import java.util.concurrent.RecursiveAction;
+
+// Reparte el rango [from, to) en trozos de como mucho grain elementos para un ForkJoinPool.
+// Cada trozo debe escribir solo en sus propias posiciones, asi el resultado no depende del reparto.
+public class ParallelRange extends RecursiveAction {
+    public interface Body {
+        void run(int from, int to);
+    }
+
+    private final int from;
+    private final int to;
+    private final int grain;
+    private final Body body;
+
+    public ParallelRange(int from, int to, int grain, Body body) {
+        this.from = from;
+        this.to = to;
+        this.grain = Math.max(1, grain);
+        this.body = body;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= grain) {
+            body.run(from, to);
+        }
+        else {
+            int mid = (from + to) >>> 1;
+            invokeAll(new ParallelRange(from, mid, grain, body), new ParallelRange(mid, to, grain, body));
+        }
+    }
+}
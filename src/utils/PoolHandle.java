@@ -0,0 +1,31 @@
+package utils;
+
+// Referencia debil a un objeto del pool: get() devuelve null si el objeto se recicló desde que se guardó
+public class PoolHandle<T extends Pooled> {
+    private T target;
+    private int generation;
+
+    public PoolHandle() {
+    }
+
+    public PoolHandle(T target) {
+        set(target);
+    }
+
+    public void set(T target) {
+        this.target = target;
+        this.generation = target != null ? target.generation : 0;
+    }
+
+    public T get() {
+        return isStale() ? null : target;
+    }
+
+    public boolean isStale() {
+        return target == null || target.inPool || target.generation != generation;
+    }
+
+    public void clear() {
+        target = null;
+    }
+}
@@ -0,0 +1,16 @@
+package utils;
+
+// Base de los objetos reciclables. La generacion cambia cada vez que el objeto vuelve al pool,
+// asi una referencia vieja (PoolHandle) detecta que ya no apunta a la misma entidad.
+public abstract class Pooled {
+    int generation = 0;
+    boolean inPool = false;
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public boolean isInPool() {
+        return inPool;
+    }
+}
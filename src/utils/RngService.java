@@ -0,0 +1,53 @@
+package utils;
+
+import java.util.SplittableRandom;
+
+// Aleatoriedad de toda la partida a partir de una sola semilla.
+// Cada subsistema tiene su propio flujo, asi tirar mas numeros en uno no cambia lo que sale en los demas:
+// la misma semilla da el mismo mapa, los mismos spawns, drops y perks.
+public final class RngService {
+    public enum Stream { MAP, SPAWN, DROP, PERK }
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final SplittableRandom[] streams = new SplittableRandom[Stream.values().length];
+
+    public RngService(long seed) {
+        this.seed = seed;
+        for (Stream s : Stream.values()) {
+            streams[s.ordinal()] = new SplittableRandom(streamSeed(s));
+        }
+    }
+
+    // -Dgame.seed=N reproduce una partida; sin ella cada partida es distinta
+    public static RngService fromSystem() {
+        return new RngService(Long.getLong("game.seed", System.nanoTime()));
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // no es thread-safe: solo desde el hilo de simulacion
+    public SplittableRandom stream(Stream s) {
+        return streams[s.ordinal()];
+    }
+
+    // flujo independiente para un hilo de trabajo, una sala, etc. No avanza el flujo padre,
+    // asi el resultado no depende del orden en que se pidan los subflujos
+    public SplittableRandom substream(Stream s, long index) {
+        return new SplittableRandom(mix(streamSeed(s) + (index + 1) * GOLDEN_GAMMA));
+    }
+
+    private long streamSeed(Stream s) {
+        return mix(seed + (s.ordinal() + 1) * GOLDEN_GAMMA);
+    }
+
+    // finalizador de splitmix64
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,41 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Triple buffer sin bloqueos entre un unico escritor y un unico lector.
+// El escritor rellena back() y lo publica; el lector toma siempre el ultimo publicado sin esperar al escritor.
+public class TripleBuffer<T> {
+    private static final int INDEX = 3;
+    private static final int FRESH = 4;
+
+    private final Object[] slots;
+    // indice del buffer intermedio, con FRESH si el escritor publico algo que el lector no ha visto
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;
+    private int front = 2;
+
+    public TripleBuffer(Supplier<T> factory) {
+        this.slots = new Object[] {factory.get(), factory.get(), factory.get()};
+    }
+
+    // solo el hilo escritor
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) slots[back];
+    }
+
+    // solo el hilo escritor
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    // solo el hilo lector
+    @SuppressWarnings("unchecked")
+    public T front() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX;
+        }
+        return (T) slots[front];
+    }
+}
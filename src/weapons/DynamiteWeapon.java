@@ -4,6 +4,7 @@ import effects.AoEExplosion;
 import entities.Enemy;
 import entities.Player;
 import game.GameController;
+import utils.PoolHandle;
 import utils.ResourceManager;
 
 import java.awt.*;
@@ -17,24 +18,13 @@ public class DynamiteWeapon extends WeaponDef {
 
     @Override
     public void fire(Player player, int level, List<Enemy> enemies, GameController controller) {
-        Enemy target = null;
-        float best2 = Float.MAX_VALUE;
-        for (Enemy e : enemies) {
-            if (!e.isAlive()) continue;
-            float dx = e.getX() - player.x;
-            float dy = e.getY() - player.y;
-            float d2 = dx * dx + dy * dy;
-            if (d2 < best2) {
-                best2 = d2;
-                target = e;
-            }
-        }
+        Enemy target = controller.enemyManager.nearestEnemy(controller.nodoActual, player.x, player.y, Float.MAX_VALUE);
 
         final float speed = 120f;
         final int damage = (int) (60 + level * 18 * player.damageMultiplier);
         final float life = 4f;
 
-        Enemy finalTarget = target;
+        PoolHandle<Enemy> finalTarget = new PoolHandle<>(target);
         Projectile p = new Projectile(player, controller.nodoActual, player.x, player.y, 0f, 0f, life, damage, controller) {
             float vxLocal = 0f;
             float vyLocal = 0f;
@@ -45,9 +35,10 @@ public class DynamiteWeapon extends WeaponDef {
                 if (!initialized) {
                     float tx = player.x;
                     float ty = player.y;
-                    if (finalTarget != null && finalTarget.isAlive()) {
-                        tx = finalTarget.getX();
-                        ty = finalTarget.getY();
+                    Enemy aim = finalTarget.get();
+                    if (aim != null && aim.isAlive()) {
+                        tx = aim.getX();
+                        ty = aim.getY();
                     }
                     float dx = tx - x;
                     float dy = ty - y;
@@ -64,21 +55,11 @@ public class DynamiteWeapon extends WeaponDef {
                 x += vxLocal * dt;
                 y += vyLocal * dt;
 
-                if (roomNode != null) {
-                    List<Enemy> list = controller.enemyManager.getEnemiesAt(roomNode);
-                    for (Enemy en : list) {
-                        if (!en.isAlive()) continue;
-                        float dx = en.getX() - x;
-                        float dy = en.getY() - y;
-                        float distanceSquared = dx * dx + dy * dy;
-                        float collisionRadius = 14f * 14f;
-                        if (distanceSquared <= collisionRadius) {
-                            ctx.spawnEffect(
-                                    new AoEExplosion(player, roomNode, x, y, 48f + level * 6f, damage, 0.6f, ctx));
-                            expire();
-                            return;
-                        }
-                    }
+                if (roomNode != null && controller.enemyManager.nearestEnemy(roomNode, x, y, 14f) != null) {
+                    ctx.spawnEffect(
+                            new AoEExplosion(player, roomNode, x, y, 48f + level * 6f, damage, 0.6f, ctx));
+                    expire();
+                    return;
                 }
 
                 life -= dt;
@@ -5,14 +5,15 @@ import entities.Enemy;
 import entities.Player;
 import game.GameController;
 import map.MineRoom;
+import utils.PoolHandle;
 import utils.ResourceManager; // importa ResourceManager para acceder a pw4
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.List;
 
 public class HomingProjectile extends Projectile {
-    private Enemy target;
+    // el enemigo puede reciclarse mientras lo persigue, el handle lo detecta
+    private final PoolHandle<Enemy> target = new PoolHandle<>();
     private final float speed;
     private final float turnSpeed;
 
@@ -29,8 +30,10 @@ public class HomingProjectile extends Projectile {
     public void update(float dt, GameController ctx) {
         if (expired) return;
 
+        Enemy target = this.target.get();
         if (target == null || !target.isAlive()) {
             target = findNearestEnemy();
+            this.target.set(target);
         }
 
         if (target != null) {
@@ -90,18 +93,7 @@ public class HomingProjectile extends Projectile {
     private Enemy findNearestEnemy() {
         Enemy result = null;
         if (roomNode != null) {
-            List<Enemy> list = controller.enemyManager.getEnemiesAt(roomNode);
-            float best2 = Float.MAX_VALUE;
-            for (Enemy e : list) {
-                if (!e.isAlive()) continue;
-                float dx = e.getX() - x;
-                float dy = e.getY() - y;
-                float d2 = dx * dx + dy * dy;
-                if (d2 < best2) {
-                    best2 = d2;
-                    result = e;
-                }
-            }
+            result = controller.enemyManager.nearestEnemy(roomNode, x, y, Float.MAX_VALUE);
         }
         return result;
     }
@@ -2,7 +2,6 @@ package weapons;
 
 import Tree.BinaryTreeNode;
 import effects.Effect;
-import entities.Enemy;
 import entities.Player;
 import game.GameController;
 import map.MineRoom;
@@ -10,7 +9,6 @@ import utils.ResourceManager; // importa ResourceManager para acceder a p3
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.List;
 
 // Orbes que orbitan alrededor del Player
 public class OrbittingOrb extends Projectile implements Effect {
@@ -43,24 +41,18 @@ public class OrbittingOrb extends Projectile implements Effect {
         tickTimer -= dt;
         if (tickTimer <= 0f) {
             if (roomNode != null) {
-                List<Enemy> enemies = controller.enemyManager.getEnemiesAt(roomNode);
-                float r2 = 12f * 12f;
-                for (Enemy e : enemies) {
-                    if (!e.isAlive()) continue;
+                controller.enemyManager.forEachInRadius(roomNode, x, y, 12f, e -> {
                     float dx = e.getX() - x;
                     float dy = e.getY() - y;
-                    float distanceSquared = dx * dx + dy * dy;
-                    if (distanceSquared <= r2) {
-                        e.damage(damage, controller);
-                        float dist = (float) Math.sqrt(distanceSquared);
-                        float nx = 0f, ny = -1f;
-                        if (dist > 0.001f) {
-                            nx = dx / dist;
-                            ny = dy / dist;
-                        }
-                        e.applyKnockback(nx * 30f, ny * 30f);
+                    e.damage(damage, controller);
+                    float dist = (float) Math.sqrt(dx * dx + dy * dy);
+                    float nx = 0f, ny = -1f;
+                    if (dist > 0.001f) {
+                        nx = dx / dist;
+                        ny = dy / dist;
                     }
-                }
+                    e.applyKnockback(nx * 30f, ny * 30f);
+                });
             }
             tickTimer = damageInterval;
         }
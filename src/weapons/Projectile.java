@@ -7,9 +7,8 @@ import game.GameController;
 import map.MineRoom;
 
 import java.awt.*;
-import java.util.List;
 
-public abstract class Projectile {
+public abstract class Projectile implements Cloneable {
     public float x, y;
     public float vx, vy;
     protected float life;
@@ -54,30 +53,31 @@ public abstract class Projectile {
 
     public abstract void render(Graphics2D g);
 
+    // copia superficial para el snapshot de render; render() solo lee campos propios
+    public Projectile renderCopy() {
+        try {
+            return (Projectile) clone();
+        } catch (CloneNotSupportedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
     protected void damageEnemiesInRadius(float cx, float cy, float radius, int dmg) {
         if (roomNode == null) {
             return;
         }
-        List<Enemy> enemies = controller.enemyManager.getEnemiesAt(roomNode);
-        float r2 = radius * radius;
-        for (Enemy e : enemies) {
-            if (!e.isAlive()) {
-                continue;
-            }
+        controller.enemyManager.forEachInRadius(roomNode, cx, cy, radius, e -> {
             float dx = e.getX() - cx;
             float dy = e.getY() - cy;
-            float distanceSquared = dx * dx + dy * dy;
-            if (distanceSquared <= r2) {
-                e.damage(dmg, controller);
-                float dist = (float)Math.sqrt(distanceSquared);
-                float nx = 0f;
-                float ny = -1f;
-                if (dist > 0.001f) {
-                    nx = dx / dist;
-                    ny = dy / dist;
-                }
-                e.applyKnockback(nx * 80f, ny * 80f);
+            e.damage(dmg, controller);
+            float dist = (float)Math.sqrt(dx * dx + dy * dy);
+            float nx = 0f;
+            float ny = -1f;
+            if (dist > 0.001f) {
+                nx = dx / dist;
+                ny = dy / dist;
             }
-        }
+            e.applyKnockback(nx * 80f, ny * 80f);
+        });
     }
 }
\ No newline at end of file